@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+# Starts the servlet application (8080) and the reactive read API (8081) side by side, seeds a user
+# and articles through the servlet API, then runs the same feed/search load against each.
+# Requires: a reachable MongoDB configured through secrets.properties or the environment, k6, jq.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+DURATION=${DURATION:-60s}
+RESULTS=build/loadtest
+mkdir -p "$RESULTS"
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+
+java -jar "$JAR" --server.port=8080 --rate-limit.enabled=false > "$RESULTS/mvc.log" 2>&1 &
+MVC_PID=$!
+java -Dloader.main=com.anupam.auth.reactive.ReactiveArticleApplication \
+    -cp "$JAR" org.springframework.boot.loader.launch.PropertiesLauncher > "$RESULTS/reactive.log" 2>&1 &
+REACTIVE_PID=$!
+trap 'kill $MVC_PID $REACTIVE_PID 2>/dev/null || true' EXIT
+
+until curl -s -o /dev/null http://localhost:8080/public/login; do sleep 0.5; done
+until curl -s -o /dev/null http://localhost:8081/article/feed; do sleep 0.5; done
+
+CREDENTIALS='{"username":"loadtest","password":"loadtest-password"}'
+curl -s -o /dev/null -H 'Content-Type: application/json' -d "$CREDENTIALS" http://localhost:8080/public/signup
+TOKEN=$(curl -s -H 'Content-Type: application/json' -d "$CREDENTIALS" http://localhost:8080/public/login)
+for i in $(seq 1 200); do
+    curl -s -o /dev/null -H "Authorization: Bearer $TOKEN" -H 'Content-Type: application/json' \
+        -d "{\"title\":\"Load test article $i\",\"content\":\"load test content\"}" http://localhost:8080/article/create
+done
+
+for target in mvc:8080 reactive:8081; do
+    name=${target%%:*}
+    port=${target##*:}
+    k6 run -q -e BASE_URL="http://localhost:$port" -e TOKEN="$TOKEN" -e DURATION="$DURATION" \
+        --summary-export="$RESULTS/$name-feed.json" loadtest/feed-mvc-vs-reactive.js
+    echo "== $name"
+    jq -r '.metrics | to_entries[]
+        | select(.key | test("^http_req_duration\\{endpoint:"))
+        | "\(.key): p99=\(.value["p(99)"]) ms avg=\(.value.avg) ms"' "$RESULTS/$name-feed.json"
+    jq -r '"requests/s: \(.metrics.http_reqs.rate)"' "$RESULTS/$name-feed.json"
+    echo "live threads: $(jcmd "$( [ "$name" = mvc ] && echo $MVC_PID || echo $REACTIVE_PID )" Thread.print 2>/dev/null | grep -c '^"' || echo n/a)"
+done
@@ -0,0 +1,38 @@
+#!/usr/bin/env bash
+# Runs the same k6 scenario against the application on platform threads and on virtual threads
+# and prints throughput and p99 per endpoint for both.
+# Requires: a reachable MongoDB configured through secrets.properties or the environment, k6, jq.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT=${PORT:-8080}
+DURATION=${DURATION:-60s}
+RESULTS=build/loadtest
+mkdir -p "$RESULTS"
+
+./gradlew -q bootJar
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+
+run_mode() {
+    local mode=$1 profile=$2
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profile" \
+        --rate-limit.enabled=false > "$RESULTS/$mode.log" 2>&1 &
+    local pid=$!
+    until curl -s -o /dev/null "http://localhost:$PORT/public/login"; do sleep 0.5; done
+    k6 run -q -e BASE_URL="http://localhost:$PORT" -e DURATION="$DURATION" \
+        --summary-export="$RESULTS/$mode.json" loadtest/feed-and-login.js
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform default
+run_mode virtual virtual
+
+for mode in platform virtual; do
+    echo "== $mode"
+    jq -r '.metrics | to_entries[]
+        | select(.key | test("^http_req_duration\\{endpoint:"))
+        | "\(.key): p99=\(.value["p(99)"]) ms avg=\(.value.avg) ms"' "$RESULTS/$mode.json"
+    jq -r '"requests/s: \(.metrics.http_reqs.rate)"' "$RESULTS/$mode.json"
+    grep -c "Virtual thread pinned" "$RESULTS/$mode.log" | sed 's/^/pinning reports: /' || true
+done
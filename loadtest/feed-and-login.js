@@ -0,0 +1,65 @@
+// k6 scenario comparing request handling modes on the article feed and login endpoints.
+// Usage: k6 run -e BASE_URL=http://localhost:8080 --summary-export=summary.json feed-and-login.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERNAME = __ENV.USERNAME || 'loadtest';
+const PASSWORD = __ENV.PASSWORD || 'loadtest-password';
+const JSON_HEADERS = { 'Content-Type': 'application/json' };
+
+export const options = {
+    scenarios: {
+        feed: {
+            executor: 'constant-vus',
+            exec: 'feed',
+            vus: Number(__ENV.FEED_VUS || 200),
+            duration: __ENV.DURATION || '60s',
+        },
+        login: {
+            executor: 'constant-vus',
+            exec: 'login',
+            vus: Number(__ENV.LOGIN_VUS || 20),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    // Declaring the tagged sub-metrics makes k6 report them per endpoint in the summary
+    thresholds: {
+        'http_req_duration{endpoint:feed}': ['p(99)<60000'],
+        'http_req_duration{endpoint:login}': ['p(99)<60000'],
+    },
+};
+
+function credentials() {
+    return JSON.stringify({ username: USERNAME, password: PASSWORD });
+}
+
+export function setup() {
+    http.post(`${BASE_URL}/public/signup`, credentials(), { headers: JSON_HEADERS });
+    const response = http.post(`${BASE_URL}/public/login`, credentials(), { headers: JSON_HEADERS });
+    check(response, { 'setup login succeeded': (r) => r.status === 200 });
+    const token = response.body;
+    for (let i = 0; i < 200; i++) {
+        http.post(`${BASE_URL}/article/create`,
+            JSON.stringify({ title: `Load test article ${i}`, content: 'x'.repeat(2000) }),
+            { headers: Object.assign({ Authorization: `Bearer ${token}` }, JSON_HEADERS) });
+    }
+    return { token };
+}
+
+export function feed(data) {
+    const response = http.get(`${BASE_URL}/article/feed?size=20`, {
+        headers: { Authorization: `Bearer ${data.token}` },
+        tags: { endpoint: 'feed' },
+    });
+    check(response, { 'feed ok': (r) => r.status === 200 });
+}
+
+export function login() {
+    const response = http.post(`${BASE_URL}/public/login`, credentials(), {
+        headers: JSON_HEADERS,
+        tags: { endpoint: 'login' },
+    });
+    check(response, { 'login ok': (r) => r.status === 200 || r.status === 503 });
+}
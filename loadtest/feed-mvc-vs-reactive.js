@@ -0,0 +1,39 @@
+// k6 scenario hitting the article feed and search on one target with many concurrent connections.
+// Usage: k6 run -e BASE_URL=http://localhost:8081 -e TOKEN=<jwt> --summary-export=summary.json feed-mvc-vs-reactive.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const HEADERS = { Authorization: `Bearer ${__ENV.TOKEN}` };
+
+export const options = {
+    scenarios: {
+        feed: {
+            executor: 'constant-vus',
+            exec: 'feed',
+            vus: Number(__ENV.FEED_VUS || 2000),
+            duration: __ENV.DURATION || '60s',
+        },
+        search: {
+            executor: 'constant-vus',
+            exec: 'search',
+            vus: Number(__ENV.SEARCH_VUS || 500),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_duration{endpoint:feed}': ['p(99)<60000'],
+        'http_req_duration{endpoint:search}': ['p(99)<60000'],
+    },
+};
+
+export function feed() {
+    const response = http.get(`${BASE_URL}/article/feed?size=20`, { headers: HEADERS, tags: { endpoint: 'feed' } });
+    check(response, { 'feed ok': (r) => r.status === 200 });
+}
+
+export function search() {
+    const response = http.get(`${BASE_URL}/article/search?q=load%20test`, { headers: HEADERS, tags: { endpoint: 'search' } });
+    check(response, { 'search ok': (r) => r.status === 200 });
+}
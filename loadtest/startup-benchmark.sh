@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Compares cold start of the plain boot jar with the optimized build (AOT + CDS archive).
+# For each run it measures the time from launch to the first successful /public/login and the
+# RSS of the process right after that login, then prints the median of each per mode.
+# Requires: a reachable MongoDB configured through secrets.properties or the environment, curl, jq.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+PORT=${PORT:-8080}
+RUNS=${RUNS:-5}
+USERNAME=${USERNAME:-startup-benchmark}
+PASSWORD=${PASSWORD:-startup-benchmark}
+RESULTS=build/startup
+rm -rf "$RESULTS"
+mkdir -p "$RESULTS/default"
+
+# The optimized build writes to the same build/libs, so keep a copy of the plain jar first
+./gradlew -q bootJar
+cp "$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)" "$RESULTS/default/app.jar"
+./gradlew -q -Poptimized cdsArchive
+CDS_JAR=$(ls build/cds/*-SNAPSHOT.jar | head -n 1)
+
+now_ms() {
+    date +%s%3N
+}
+
+login() {
+    curl -s -o /dev/null -w '%{http_code}' -X POST "http://localhost:$PORT/public/login" \
+        -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" || true
+}
+
+# run_once <mode> <java args...>, appends one JSON line to $RESULTS/<mode>.ndjson
+run_once() {
+    local mode=$1
+    shift
+    local start
+    start=$(now_ms)
+    java "$@" --server.port="$PORT" > "$RESULTS/$mode.log" 2>&1 &
+    local pid=$!
+    until [ "$(login)" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode: application exited, see $RESULTS/$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    local rss_kb
+    rss_kb=$(awk '/^VmRSS:/ { print $2 }' "/proc/$pid/status" 2>/dev/null || ps -o rss= -p "$pid")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "{\"mode\":\"$mode\",\"timeToFirstLoginMs\":$elapsed,\"rssKb\":$rss_kb}" >> "$RESULTS/$mode.ndjson"
+}
+
+# The benchmark account is created once; signup is a no-op when it already exists
+java -jar "$RESULTS/default/app.jar" --server.port="$PORT" > "$RESULTS/signup.log" 2>&1 &
+SIGNUP_PID=$!
+until curl -s -o /dev/null "http://localhost:$PORT/public/login"; do sleep 0.5; done
+curl -s -o /dev/null -X POST "http://localhost:$PORT/public/signup" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}"
+kill "$SIGNUP_PID"
+wait "$SIGNUP_PID" 2>/dev/null || true
+
+# Login is rate limited per username, which would skew repeated runs
+for i in $(seq "$RUNS"); do
+    run_once default -jar "$RESULTS/default/app.jar" --rate-limit.enabled=false
+    run_once optimized -XX:SharedArchiveFile=build/cds/application.jsa -Dspring.aot.enabled=true \
+        -jar "$CDS_JAR" --rate-limit.enabled=false
+done
+
+for mode in default optimized; do
+    echo "== $mode ($RUNS runs)"
+    jq -s -r '
+        def median: sort | if length % 2 == 1 then .[length / 2 | floor] else (.[length / 2 - 1] + .[length / 2]) / 2 end;
+        "time to first login: median=\(map(.timeToFirstLoginMs) | median) ms min=\(map(.timeToFirstLoginMs) | min) ms",
+        "rss after first login: median=\(map(.rssKb) | median / 1024 | floor) MB"' "$RESULTS/$mode.ndjson"
+done
@@ -0,0 +1,37 @@
+package com.anupam.auth.converters;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConverterBenchmark {
+    private final LocalDateTimeToDateConverter toDate = new LocalDateTimeToDateConverter();
+    private final DateToLocalDateTimeConverter toLocalDateTime = new DateToLocalDateTimeConverter();
+    private final LocalDateTime localDateTime = LocalDateTime.of(2024, 6, 1, 12, 30, 15, 123_000_000);
+    private final Date date = new Date(1_717_245_015_123L);
+
+    @Benchmark
+    public Date localDateTimeToDate() {
+        return toDate.convert(localDateTime);
+    }
+
+    @Benchmark
+    public LocalDateTime dateToLocalDateTime() {
+        return toLocalDateTime.convert(date);
+    }
+
+    @Benchmark
+    public LocalDateTime roundTrip() {
+        return toLocalDateTime.convert(toDate.convert(localDateTime));
+    }
+}
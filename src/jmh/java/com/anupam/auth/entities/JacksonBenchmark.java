@@ -0,0 +1,99 @@
+package com.anupam.auth.entities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization cost of the list endpoints, using a mapper configured like Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Article> articles;
+    private List<ArticleSummary> summaries;
+    private List<User> users;
+    private Profile profile;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        articles = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Article article = new Article();
+            article.setId(new ObjectId());
+            article.setTitle("Benchmark article " + i);
+            article.setContent("Lorem ipsum dolor sit amet. ".repeat(80));
+            article.setAuthor("author" + (i % 10));
+            article.setLikes(i);
+            article.setCreatedAt(LocalDateTime.now());
+            article.setVersion((long) i);
+            articles.add(article);
+
+            ArticleSummary summary = new ArticleSummary();
+            summary.setId(article.getId());
+            summary.setTitle(article.getTitle());
+            summary.setAuthor(article.getAuthor());
+            summary.setLikes(article.getLikes());
+            summary.setCreatedAt(article.getCreatedAt());
+            summaries.add(summary);
+
+            User user = new User();
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+            user.setRoles(List.of("USER"));
+            user.setId(new ObjectId());
+            user.getArticles().add(article.getId());
+            users.add(user);
+        }
+        profile = new Profile();
+        profile.setUsername("author0");
+        profile.setArticles(summaries);
+    }
+
+    @Benchmark
+    public byte[] articles() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(articles);
+    }
+
+    @Benchmark
+    public byte[] articleSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] profile() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(profile);
+    }
+}
@@ -0,0 +1,93 @@
+package com.anupam.auth.entities;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a user lookup costs on the wire and in decoding: the whole users document with its
+ * articles array against the credentials projection the login and request paths now read.
+ * Runs without a database, on the BSON the server would send back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserLookupBenchmark {
+
+    @Param({"0", "100", "10000"})
+    public int articleCount;
+
+    private final DocumentCodec codec = new DocumentCodec();
+    private MappingMongoConverter converter;
+    private RawBsonDocument fullDocument;
+    private RawBsonDocument credentialsDocument;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Bytes {
+        public long bytesPerLookup;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytesPerLookup = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.afterPropertiesSet();
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        User user = new User();
+        user.setId(new ObjectId());
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ykn0jE0FpCm1Vn3ZcKxCsi");
+        user.setRoles(List.of("USER", "ADMIN"));
+        for (int i = 0; i < articleCount; i++) {
+            user.getArticles().add(new ObjectId());
+        }
+
+        Document full = new Document();
+        converter.write(user, full);
+        fullDocument = new RawBsonDocument(full, codec);
+
+        // Same fields as UserRepository.CREDENTIAL_FIELDS, plus the _id the server always returns
+        Document credentials = new Document();
+        for (String field : List.of("_id", "username", "password", "roles", "securityVersion")) {
+            credentials.put(field, full.get(field));
+        }
+        credentialsDocument = new RawBsonDocument(credentials, codec);
+    }
+
+    @Benchmark
+    public User fullUser(Bytes bytes) {
+        bytes.bytesPerLookup = fullDocument.getByteBuffer().remaining();
+        return converter.read(User.class, fullDocument.decode(codec));
+    }
+
+    @Benchmark
+    public UserCredentials credentialsProjection(Bytes bytes) {
+        bytes.bytesPerLookup = credentialsDocument.getByteBuffer().remaining();
+        return converter.read(UserCredentials.class, credentialsDocument.decode(codec));
+    }
+}
@@ -0,0 +1,63 @@
+package com.anupam.auth.utils;
+
+import com.anupam.auth.entities.AuthUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full JwtFilter pass with a mocked request and chain. The user details service is an
+ * in-memory stand-in, so the stateful mode measures the filter overhead without Mongo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean statelessAuthorities;
+
+    private JwtFilter jwtFilter;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = JwtUtilBenchmark.newJwtUtil();
+        AuthUser user = new AuthUser("benchmark", "hash", AuthorityUtils.createAuthorityList("ROLE_USER"), 0);
+        UserDetailsService userDetailsService = username ->
+                new AuthUser(username, user.getPassword(), user.getAuthorities(), user.getSecurityVersion());
+        jwtFilter = new JwtFilter(userDetailsService, jwtUtil, new SecurityVersionRegistry(Duration.ofSeconds(60)),
+                new RevocationList(100_000), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtFilter, "statelessAuthorities", statelessAuthorities);
+        authorization = "Bearer " + jwtUtil.generateToken(user, user.getSecurityVersion());
+    }
+
+    @Benchmark
+    public Object doFilter() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/article/feed");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
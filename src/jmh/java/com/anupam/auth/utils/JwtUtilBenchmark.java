@@ -0,0 +1,68 @@
+package com.anupam.auth.utils;
+
+import com.anupam.auth.entities.AuthUser;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtUtilBenchmark {
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    private JwtUtil jwtUtil;
+    private AuthUser user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = newJwtUtil();
+        user = new AuthUser("benchmark", "", AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"), 3);
+        token = jwtUtil.generateToken(user, user.getSecurityVersion());
+    }
+
+    static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxSize", 10_000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("benchmark");
+    }
+
+    @Benchmark
+    public String generateTokenWithRoles() {
+        return jwtUtil.generateToken(user, user.getSecurityVersion());
+    }
+
+    @Benchmark
+    public String extractUsernameCached() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return jwtUtil.validateToken(token);
+    }
+
+    // Full HMAC verification and JSON parsing, as paid on the first request with a token
+    @Benchmark
+    public Claims verifyTokenUncached() {
+        jwtUtil.getClaimsCache().invalidate(token);
+        return jwtUtil.verifyToken(token);
+    }
+}
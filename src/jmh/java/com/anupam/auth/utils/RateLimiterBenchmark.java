@@ -0,0 +1,61 @@
+package com.anupam.auth.utils;
+
+import com.anupam.auth.config.RateLimitProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fast path of the public endpoint rate limiter, which has to stay well under a microsecond.
+ * Limits are high enough that every call takes a token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RateLimiterBenchmark {
+    private TokenBucket bucket;
+    private RateLimiter rateLimiter;
+
+    @Setup
+    public void setup() {
+        bucket = new TokenBucket(Integer.MAX_VALUE, 1e9, System.nanoTime());
+
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(Integer.MAX_VALUE);
+        limit.setRefillPerSecond(1e9);
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPerIp(limit);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(Map.of("/public/login", route));
+        rateLimiter = new RateLimiter(properties);
+    }
+
+    @Benchmark
+    public long tokenBucket() {
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long tokenBucketContended() {
+        return bucket.tryAcquire(System.nanoTime());
+    }
+
+    @Benchmark
+    public long rateLimiterForIp() {
+        return rateLimiter.tryAcquireForIp("/public/login", "10.0.0.1");
+    }
+
+    @Benchmark
+    public long rateLimiterUnlimitedRoute() {
+        return rateLimiter.tryAcquireForIp("/article/feed", "10.0.0.1");
+    }
+}
@@ -0,0 +1,52 @@
+package com.anupam.auth.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request revocation check in JwtFilter, for a token that was never revoked
+ * (the Bloom filter answers) and for a revoked one (confirmed in the exact set).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevocationListBenchmark {
+
+    @Param({"0", "10000", "100000"})
+    public int revokedCount;
+
+    private RevocationList revocationList;
+    private String activeJti;
+    private String revokedJti;
+
+    @Setup
+    public void setup() {
+        revocationList = new RevocationList(100_000);
+        long expiresAt = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(5);
+        for (int i = 0; i < revokedCount; i++) {
+            revocationList.add(UUID.randomUUID().toString(), expiresAt);
+        }
+        revokedJti = UUID.randomUUID().toString();
+        revocationList.add(revokedJti, expiresAt);
+        activeJti = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean activeToken() {
+        return revocationList.isRevoked(activeJti);
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revocationList.isRevoked(revokedJti);
+    }
+}
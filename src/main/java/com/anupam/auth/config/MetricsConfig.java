@@ -0,0 +1,59 @@
+package com.anupam.auth.config;
+
+import com.anupam.auth.service.impl.UserDetailServiceImpl;
+import com.anupam.auth.utils.BoundedPasswordEncoder;
+import com.anupam.auth.utils.JwtUtil;
+import com.anupam.auth.utils.RevocationList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the in-process caches, the revocation list and the password hashing pool.
+ * The cache and hashing numbers are also available as JSON under /admin/stats.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(JwtUtil jwtUtil, UserDetailServiceImpl userDetailService) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, jwtUtil.getClaimsCache(), "jwt.claims");
+            CaffeineCacheMetrics.monitor(registry, userDetailService.getUserDetailsCache(), "user.details");
+        };
+    }
+
+    @Bean
+    public MeterBinder revocationMetrics(RevocationList revocationList) {
+        return registry -> Gauge.builder("jwt.revocations", revocationList, RevocationList::size)
+                .description("Revoked token ids held in memory")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            new ExecutorServiceMetrics(passwordEncoder.getExecutor(), "password.hashing", Tags.empty()).bindTo(registry);
+            // executor.queued from the binder above is the queue depth
+            FunctionTimer.builder("password.hashing.wait", passwordEncoder,
+                            BoundedPasswordEncoder::getCompletedCount, BoundedPasswordEncoder::getTotalWaitNanos, TimeUnit.NANOSECONDS)
+                    .description("Time hashing requests spent queued before a worker picked them up")
+                    .register(registry);
+            FunctionTimer.builder("password.hashing.hash", passwordEncoder,
+                            BoundedPasswordEncoder::getCompletedCount, BoundedPasswordEncoder::getTotalHashNanos, TimeUnit.NANOSECONDS)
+                    .description("Time spent hashing on the workers")
+                    .register(registry);
+            FunctionCounter.builder("password.hashing.rejected", passwordEncoder, BoundedPasswordEncoder::getRejectedCount)
+                    .description("Hashing requests shed because the pool was saturated or timed out")
+                    .register(registry);
+        };
+    }
+}
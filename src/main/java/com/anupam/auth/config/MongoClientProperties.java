@@ -0,0 +1,45 @@
+package com.anupam.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client settings applied on top of spring.data.mongodb.uri. Anything left unset keeps the
+ * value from the URI, or the driver default when the URI does not set it either.
+ */
+@Data
+@ConfigurationProperties(prefix = "mongo.client")
+public class MongoClientProperties {
+    private Pool pool = new Pool();
+    private Duration connectTimeout;
+    private Duration socketTimeout;
+    private Duration serverSelectionTimeout;
+    // Wire compressors in order of preference: zstd, snappy, zlib
+    private List<String> compressors = new ArrayList<>();
+    private SecondaryReads secondaryReads = new SecondaryReads();
+
+    @Data
+    public static class Pool {
+        private Integer maxSize;
+        private Integer minSize;
+        // Requests queue for a connection at most this long before failing
+        private Duration maxWaitTime;
+        private Integer maxConnecting;
+        private Duration maxConnectionIdleTime;
+    }
+
+    /**
+     * Routing for article feed and search reads. User, credential and all other reads
+     * and every write always go to the primary.
+     */
+    @Data
+    public static class SecondaryReads {
+        private boolean enabled;
+        // The server rejects values below 90 seconds
+        private Duration maxStaleness = Duration.ofSeconds(90);
+    }
+}
@@ -2,41 +2,118 @@ package com.anupam.auth.config;
 
 import com.anupam.auth.converters.DateToLocalDateTimeConverter;
 import com.anupam.auth.converters.LocalDateTimeToDateConverter;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsCommandListener;
+import io.micrometer.core.instrument.binder.mongodb.MongoMetricsConnectionPoolListener;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
 import org.springframework.data.mongodb.config.AbstractMongoClientConfiguration;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class MongoConfig extends AbstractMongoClientConfiguration {
+    // Template for article feed and search reads, see MongoClientProperties.SecondaryReads
+    public static final String SECONDARY_READS = "secondaryMongoTemplate";
 
     @Value("${spring.data.mongodb.uri}")
     private String mongoUrl;
     @Value("${dbname}")
     private String dbname;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private MongoClientProperties properties;
 
     @Override
     protected @NonNull String getDatabaseName() {
         return dbname;
     }
 
+    @Override
+    protected boolean autoIndexCreation() {
+        return true;
+    }
+
     @Bean
     @Override
     public @NonNull MongoClient mongoClient() {
-        return MongoClients.create(mongoUrl);
+        MongoClientProperties.Pool pool = properties.getPool();
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongoUrl))
+                // Boot only instruments the client it creates itself, so the listeners are added here:
+                // mongodb.driver.commands is tagged by command and collection, mongodb.driver.pool.* are gauges
+                .addCommandListener(new MongoMetricsCommandListener(meterRegistry))
+                .applyToConnectionPoolSettings(builder -> {
+                    builder.addConnectionPoolListener(new MongoMetricsConnectionPoolListener(meterRegistry));
+                    if (pool.getMaxSize() != null) {
+                        builder.maxSize(pool.getMaxSize());
+                    }
+                    if (pool.getMinSize() != null) {
+                        builder.minSize(pool.getMinSize());
+                    }
+                    if (pool.getMaxWaitTime() != null) {
+                        builder.maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                    if (pool.getMaxConnecting() != null) {
+                        builder.maxConnecting(pool.getMaxConnecting());
+                    }
+                    if (pool.getMaxConnectionIdleTime() != null) {
+                        builder.maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                })
+                .applyToSocketSettings(builder -> {
+                    if (properties.getConnectTimeout() != null) {
+                        builder.connectTimeout(millis(properties.getConnectTimeout()), TimeUnit.MILLISECONDS);
+                    }
+                    if (properties.getSocketTimeout() != null) {
+                        builder.readTimeout(millis(properties.getSocketTimeout()), TimeUnit.MILLISECONDS);
+                    }
+                })
+                .applyToClusterSettings(builder -> {
+                    if (properties.getServerSelectionTimeout() != null) {
+                        builder.serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                });
+        if (!properties.getCompressors().isEmpty()) {
+            settings.compressorList(properties.getCompressors().stream().map(MongoConfig::compressor).toList());
+        }
+        return MongoClients.create(settings.build());
     }
 
+    // Primary reads and all writes, this is also the template behind the repositories
     @Bean
-    public MongoTemplate mongoTemplate() {
-        return new MongoTemplate(mongoClient(), getDatabaseName());
+    @Primary
+    @Override
+    public @NonNull MongoTemplate mongoTemplate(MongoDatabaseFactory databaseFactory, MappingMongoConverter converter) {
+        return super.mongoTemplate(databaseFactory, converter);
+    }
+
+    @Bean(SECONDARY_READS)
+    public MongoTemplate secondaryMongoTemplate(MongoDatabaseFactory databaseFactory, MappingMongoConverter converter) {
+        MongoTemplate template = new MongoTemplate(databaseFactory, converter);
+        MongoClientProperties.SecondaryReads secondaryReads = properties.getSecondaryReads();
+        if (secondaryReads.isEnabled()) {
+            template.setReadPreference(ReadPreference.secondaryPreferred(
+                    secondaryReads.getMaxStaleness().toSeconds(), TimeUnit.SECONDS));
+        }
+        return template;
     }
 
     @Bean
@@ -46,4 +123,17 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
                 new DateToLocalDateTimeConverter()
         ));
     }
+
+    private static int millis(Duration duration) {
+        return Math.toIntExact(duration.toMillis());
+    }
+
+    private static MongoCompressor compressor(String name) {
+        return switch (name.trim().toLowerCase()) {
+            case "zstd" -> MongoCompressor.createZstdCompressor();
+            case "snappy" -> MongoCompressor.createSnappyCompressor();
+            case "zlib" -> MongoCompressor.createZlibCompressor();
+            default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+        };
+    }
 }
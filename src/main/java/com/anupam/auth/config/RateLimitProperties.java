@@ -0,0 +1,27 @@
+package com.anupam.auth.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // Keyed by request path, e.g. rate-limit.routes.[/public/login].per-ip.capacity=20
+    private Map<String, Route> routes = new HashMap<>();
+
+    @Data
+    public static class Route {
+        private Limit perIp;
+        private Limit perUsername;
+    }
+
+    @Data
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
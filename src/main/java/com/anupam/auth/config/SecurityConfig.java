@@ -1,9 +1,13 @@
 package com.anupam.auth.config;
 
+import com.anupam.auth.utils.BoundedPasswordEncoder;
 import com.anupam.auth.utils.JwtFilter;
+import com.anupam.auth.utils.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
@@ -13,7 +17,6 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -23,14 +26,26 @@ public class SecurityConfig {
 
     private final UserDetailsService userDetailsService;
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+
+    @Value("${password-hashing.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int hashingThreads;
+    @Value("${password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+    @Value("${password-hashing.timeout-ms:5000}")
+    private long hashingTimeoutMillis;
+    @Value("${management.server.port:-1}")
+    private int managementPort;
 
     @Autowired
     public SecurityConfig(
             UserDetailsService userDetailsService,
-            JwtFilter jwtFilter
+            JwtFilter jwtFilter,
+            RateLimitFilter rateLimitFilter
     ) {
         this.userDetailsService = userDetailsService;
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -40,8 +55,14 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/article/**", "/user/**").authenticated()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        // Scrapes come in on the internal management port, on the public port the metrics need ADMIN
+                        .requestMatchers(request -> request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().permitAll()
-                ).addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+                ).addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtFilter.class);
 
         return http.build();
     }
@@ -58,7 +79,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    @Primary
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(bCryptPasswordEncoder(), hashingThreads, hashingQueueCapacity, hashingTimeoutMillis);
+    }
+
+    // Unbounded encoder for background work such as batch provisioning, which has its own pool
+    @Bean
+    public BCryptPasswordEncoder bCryptPasswordEncoder() {
         return new BCryptPasswordEncoder();
     }
 }
@@ -1,19 +1,40 @@
 package com.anupam.auth.controller;
 
+import com.anupam.auth.entities.ProvisioningJob;
 import com.anupam.auth.entities.User;
+import com.anupam.auth.entities.UserProvisioningItem;
+import com.anupam.auth.entities.UserSummary;
+import com.anupam.auth.service.UserProvisioningService;
 import com.anupam.auth.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/admin")
 public class AdminController {
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private UserService userService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserProvisioningService userProvisioningService;
 
     @GetMapping("/all-users")
     public ResponseEntity<?> getAllUsers() {
@@ -24,9 +45,49 @@ public class AdminController {
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
+    @GetMapping(value = "/all-users", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdBefore
+    ) {
+        // One line per user, written as documents arrive from the cursor so memory stays flat
+        ObjectWriter writer = objectMapper.writerFor(UserSummary.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            try (Stream<UserSummary> users = userService.streamUsers(role, createdAfter, createdBefore)) {
+                Iterator<UserSummary> iterator = users.iterator();
+                while (iterator.hasNext()) {
+                    writer.writeValue(out, iterator.next());
+                    out.write('\n');
+                }
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .header("Content-Type", NDJSON)
+                .body(body);
+    }
+
     @PostMapping("/create-admin")
     public ResponseEntity<?> createNewAdmin(@RequestBody User user) {
         userService.saveAdmin(user);
         return new ResponseEntity<>(HttpStatus.CREATED);
     }
+
+    @PostMapping("/users/batch")
+    public ResponseEntity<ProvisioningJob> provisionUsers(@RequestBody List<UserProvisioningItem> users) {
+        ProvisioningJob job = userProvisioningService.startProvisioning(users);
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/users/batch/{jobId}")
+    public ResponseEntity<ProvisioningJob> getProvisioningJob(@PathVariable String jobId) {
+        return userProvisioningService.getJob(jobId)
+                .map(job -> new ResponseEntity<>(job, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
 }
@@ -1,34 +1,115 @@
 package com.anupam.auth.controller;
 
 import com.anupam.auth.entities.Article;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.entities.BulkIngestResult;
+import com.anupam.auth.service.ArticleLikeService;
 import com.anupam.auth.service.ArticleService;
 import com.anupam.auth.service.UserService;
+import com.anupam.auth.utils.ConditionalRequests;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/article")
 @RequiredArgsConstructor
 public class ArticleController {
-//    private final UserService userService;
+    private final UserService userService;
     private final ArticleService articleService;
+    private final ArticleLikeService articleLikeService;
 
     @GetMapping("/articles")
-    public ResponseEntity<List<Article>> getAllArticles() {
+    public ResponseEntity<?> getAllArticles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            ServletWebRequest request
+    ) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
-        List<Article> articles = articleService.searchArticlesByUsername(username);
-        return new ResponseEntity<>(articles, HttpStatus.OK);
+        // Each page is its own body, so the page position is part of the tag
+        Optional<String> eTag = userService.getContentETag(username).map(tag -> tag + "-" + size + "-" + cursor);
+        if (eTag.isPresent() && ConditionalRequests.notModified(request, eTag.get())) {
+            return null;
+        }
+        try {
+            return new ResponseEntity<>(articleService.getArticleSummariesByUsername(username, cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<?> getArticleFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return new ResponseEntity<>(articleService.getArticleFeed(cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<ArticleSummary>> getTrendingArticles(@RequestParam(defaultValue = "10") int limit) {
+        return new ResponseEntity<>(articleService.getTrendingArticles(limit), HttpStatus.OK);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchArticles(
+            @RequestParam("q") String text,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return new ResponseEntity<>(articleService.searchArticles(text, cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/author/{username}")
+    public ResponseEntity<?> getArticlesByAuthor(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        try {
+            return new ResponseEntity<>(articleService.searchArticlesByUsername(username, cursor, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Full article including its content, list endpoints only return summaries
+    @GetMapping("/{articleId}")
+    public ResponseEntity<Article> getArticle(@PathVariable ObjectId articleId, ServletWebRequest request) {
+        Optional<Article> article = articleService.getArticleById(articleId);
+        if (article.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        // Edits bump the version, likes are not versioned so the count is part of the tag
+        String eTag = articleId.toHexString() + "-" + article.get().getVersion() + "-" + article.get().getLikes();
+        if (ConditionalRequests.notModified(request, eTag)) {
+            return null;
+        }
+        return new ResponseEntity<>(article.get(), HttpStatus.OK);
     }
 
     @PostMapping("/create")
@@ -43,6 +124,19 @@ public class ArticleController {
         return new ResponseEntity<>(article1, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> bulkCreateArticles(HttpServletRequest request) throws IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        if (username == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        BulkIngestResult result = articleService.bulkCreateArticles(request.getInputStream(), username);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    // Requires the version from GET /article/{id}, the list summaries do not carry it.
+    // Articles saved before versioning are edited with version 0.
     @PutMapping("/edit")
     public ResponseEntity<?> updateArticle(@RequestBody Article article) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -54,11 +148,31 @@ public class ArticleController {
         try {
             Article article1 = articleService.updateArticle(article.getId(), article);
             return new ResponseEntity<>(article1, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (OptimisticLockingFailureException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
         }
     }
 
+    @PostMapping("/like/{articleId}")
+    public ResponseEntity<?> likeArticle(@PathVariable ObjectId articleId) {
+        if (!articleLikeService.like(articleId)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/unlike/{articleId}")
+    public ResponseEntity<?> unlikeArticle(@PathVariable ObjectId articleId) {
+        if (!articleLikeService.unlike(articleId)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
     @DeleteMapping("/delete/{articleId}")
     public ResponseEntity<?> deleteArticle(@PathVariable ObjectId articleId) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -0,0 +1,27 @@
+package com.anupam.auth.controller;
+
+import com.anupam.auth.utils.PasswordHashingOverloadedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Sheds load with 503 wherever a handler hashes a password, e.g. PUT /user. Login and
+ * signup catch the exception themselves to count it, the response is the same.
+ */
+@RestControllerAdvice
+public class PasswordHashingExceptionHandler {
+
+    @Value("${password-hashing.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<?> overloaded(PasswordHashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body("Server is busy, please retry later");
+    }
+}
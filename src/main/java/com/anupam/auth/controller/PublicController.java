@@ -1,11 +1,20 @@
 package com.anupam.auth.controller;
 
+import com.anupam.auth.entities.AuthUser;
 import com.anupam.auth.entities.User;
 import com.anupam.auth.service.UserService;
 import com.anupam.auth.service.impl.UserDetailServiceImpl;
 import com.anupam.auth.utils.JwtUtil;
+import com.anupam.auth.utils.PasswordHashingOverloadedException;
+import com.anupam.auth.utils.RateLimitFilter;
+import com.anupam.auth.utils.RateLimiter;
+import com.anupam.auth.utils.SecurityVersionRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,37 +36,99 @@ public class PublicController {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final RateLimiter rateLimiter;
+    private final Counter loginSuccess;
+    private final Counter loginFailure;
+    private final Counter loginRateLimited;
+    private final Counter loginOverloaded;
+
+    @Value("${password-hashing.retry-after-seconds:1}")
+    private int retryAfterSeconds;
 
     @Autowired
     public PublicController(
             UserService userService,
             AuthenticationManager authenticationManager,
             UserDetailServiceImpl userDetailServiceImpl,
-            JwtUtil jwtUtil
+            JwtUtil jwtUtil,
+            SecurityVersionRegistry securityVersionRegistry,
+            RateLimiter rateLimiter,
+            MeterRegistry meterRegistry
     ) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailServiceImpl;
         this.jwtUtil = jwtUtil;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.rateLimiter = rateLimiter;
+        this.loginSuccess = loginCounter(meterRegistry, "success");
+        this.loginFailure = loginCounter(meterRegistry, "failure");
+        this.loginRateLimited = loginCounter(meterRegistry, "rate_limited");
+        this.loginOverloaded = loginCounter(meterRegistry, "overloaded");
+    }
+
+    private static Counter loginCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.login")
+                .description("Login attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @PostMapping("/signup")
     public ResponseEntity<?> signup(@RequestBody User user) {
-        userService.saveUser(user);
+        long retryAfterNanos = rateLimiter.tryAcquireForUsername("/public/signup", user.getUsername());
+        if (retryAfterNanos > 0) {
+            return tooManyRequests(retryAfterNanos);
+        }
+        try {
+            userService.saveUser(user);
+        } catch (PasswordHashingOverloadedException e) {
+            return overloaded();
+        }
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody User user) {
         log.debug("Login user: {}", user);
+        long retryAfterNanos = rateLimiter.tryAcquireForUsername("/public/login", user.getUsername());
+        if (retryAfterNanos > 0) {
+            loginRateLimited.increment();
+            return tooManyRequests(retryAfterNanos);
+        }
         try {
             authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
             UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-            String jwt = jwtUtil.generateToken(userDetails.getUsername());
+            String jwt;
+            if (userDetails instanceof AuthUser authUser) {
+                securityVersionRegistry.record(authUser.getUsername(), authUser.getSecurityVersion());
+                jwt = jwtUtil.generateToken(authUser, authUser.getSecurityVersion());
+            } else {
+                jwt = jwtUtil.generateToken(userDetails.getUsername());
+            }
+            loginSuccess.increment();
             return new ResponseEntity<>(jwt, HttpStatus.OK);
+        } catch (PasswordHashingOverloadedException e) {
+            log.warn("Password hashing overloaded, shedding login for user: {}", user.getUsername());
+            loginOverloaded.increment();
+            return overloaded();
         } catch (AuthenticationException e) {
+            loginFailure.increment();
             log.error("Exception occurred while attempting to authenticate user: {}", user.getUsername());
             return new ResponseEntity<>("Invalid username or password", HttpStatus.UNAUTHORIZED);
         }
     }
+
+    private ResponseEntity<?> tooManyRequests(long retryAfterNanos) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitFilter.retryAfterSeconds(retryAfterNanos)))
+                .build();
+    }
+
+    private ResponseEntity<?> overloaded() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body("Server is busy, please retry later");
+    }
 }
@@ -0,0 +1,75 @@
+package com.anupam.auth.controller;
+
+import com.anupam.auth.config.VirtualThreadPinningMonitor;
+import com.anupam.auth.service.impl.UserDetailServiceImpl;
+import com.anupam.auth.utils.BoundedPasswordEncoder;
+import com.anupam.auth.utils.JwtUtil;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/admin/stats")
+@RequiredArgsConstructor
+public class StatsController {
+    private final JwtUtil jwtUtil;
+    private final UserDetailServiceImpl userDetailService;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Optional<VirtualThreadPinningMonitor> pinningMonitor;
+
+    @GetMapping("/jwt-cache")
+    public ResponseEntity<Map<String, Long>> jwtCacheStats() {
+        Map<String, Long> stats = Map.of(
+                "hits", jwtUtil.getClaimsCacheHits(),
+                "misses", jwtUtil.getClaimsCacheMisses(),
+                "size", jwtUtil.getClaimsCacheSize()
+        );
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<Map<String, Object>> passwordHashingStats() {
+        long completed = passwordEncoder.getCompletedCount();
+        Map<String, Object> stats = Map.of(
+                "queueDepth", passwordEncoder.getQueueDepth(),
+                "active", passwordEncoder.getActiveCount(),
+                "completed", completed,
+                "rejected", passwordEncoder.getRejectedCount(),
+                "averageWaitNanos", completed == 0 ? 0 : passwordEncoder.getTotalWaitNanos() / completed,
+                "averageHashNanos", completed == 0 ? 0 : passwordEncoder.getTotalHashNanos() / completed
+        );
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+
+    @GetMapping("/virtual-threads")
+    public ResponseEntity<Map<String, Object>> virtualThreadStats() {
+        return pinningMonitor
+                .map(monitor -> new ResponseEntity<Map<String, Object>>(Map.of(
+                        "enabled", true,
+                        "pinnedEvents", monitor.getPinnedEvents(),
+                        "pinnedNanos", monitor.getPinnedNanos()
+                ), HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(Map.of("enabled", false), HttpStatus.OK));
+    }
+
+    @GetMapping("/user-details-cache")
+    public ResponseEntity<Map<String, Object>> userDetailsCacheStats() {
+        CacheStats cacheStats = userDetailService.getCacheStats();
+        Map<String, Object> stats = Map.of(
+                "hits", cacheStats.hitCount(),
+                "misses", cacheStats.missCount(),
+                "hitRate", cacheStats.hitRate(),
+                "evictions", cacheStats.evictionCount(),
+                "averageLoadPenaltyNanos", cacheStats.averageLoadPenalty(),
+                "size", userDetailService.getCacheSize()
+        );
+        return new ResponseEntity<>(stats, HttpStatus.OK);
+    }
+}
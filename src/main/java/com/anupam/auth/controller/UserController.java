@@ -3,7 +3,11 @@ package com.anupam.auth.controller;
 import com.anupam.auth.entities.Profile;
 import com.anupam.auth.entities.User;
 import com.anupam.auth.service.ArticleService;
+import com.anupam.auth.service.TokenRevocationService;
 import com.anupam.auth.service.UserService;
+import com.anupam.auth.utils.ConditionalRequests;
+import com.anupam.auth.utils.JwtFilter;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -11,6 +15,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/user")
@@ -18,30 +25,49 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
     private final UserService userService;
     private final ArticleService articleService;
+    private final TokenRevocationService tokenRevocationService;
 
 
     @PutMapping
     public ResponseEntity<?> updateUser(@RequestBody User user) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
-        User userInDB = userService.findByUsername(username).orElse(null);
-        assert userInDB != null;
-        userInDB.setUsername(user.getUsername());
-        userInDB.setPassword(user.getPassword());
-        userService.updateUser(user, username);
+        // The update itself tells whether the user still exists, no separate lookup needed
+        if (!userService.updateUser(user, username)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @GetMapping("/profile")
-    public ResponseEntity<?> profile() {
+    public ResponseEntity<?> profile(@RequestParam(defaultValue = "20") int limit, ServletWebRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
+        // The same content at a different limit is a different body, so the limit is part of the tag
+        Optional<String> eTag = userService.getContentETag(username).map(tag -> tag + "-" + limit);
+        if (eTag.isPresent() && ConditionalRequests.notModified(request, eTag.get())) {
+            return null;
+        }
         Profile profile = new Profile();
         profile.setUsername(username);
-        profile.setArticles(articleService.searchArticlesByUsername(username));
+        profile.setArticles(articleService.getArticleSummariesByUsername(username, limit));
         return new ResponseEntity<>(profile, HttpStatus.OK);
     }
 
+    // Revokes the bearer token of this request, other tokens of the user stay valid
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestAttribute(name = JwtFilter.CLAIMS_ATTRIBUTE, required = false) Claims claims) {
+        // Only set by JwtFilter for a valid, unrevoked bearer token
+        if (claims == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        if (claims.getId() == null) {
+            return new ResponseEntity<>("Token has no id and cannot be revoked", HttpStatus.BAD_REQUEST);
+        }
+        tokenRevocationService.revoke(claims.getId(), claims.getSubject(), claims.getExpiration());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     @DeleteMapping
     public ResponseEntity<?> deleteUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
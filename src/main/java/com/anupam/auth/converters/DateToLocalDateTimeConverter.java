@@ -1,13 +1,13 @@
 package com.anupam.auth.converters;
 
 import org.springframework.core.convert.converter.Converter;
-import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.convert.ReadingConverter;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
 
-@WritingConverter
+@ReadingConverter
 public class DateToLocalDateTimeConverter implements Converter<Date, LocalDateTime> {
     @Override
     public LocalDateTime convert(Date date) {
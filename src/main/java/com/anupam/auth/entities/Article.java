@@ -1,25 +1,51 @@
 package com.anupam.auth.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.IndexDirection;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 
 @Document(collection = "articles")
+@CompoundIndexes({
+        @CompoundIndex(name = "feed_idx", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "author_feed_idx", def = "{'author': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 public class Article {
     @Id
     private ObjectId id;
+    @TextIndexed(weight = 3)
     private String title;
+    @TextIndexed
     private String content;
+    // Derived from content on every write, see Excerpts
+    private String excerpt;
     private String author;
+    // Backs the trending reconciliation, which reads the most liked articles
+    @Indexed(name = "likes_idx", direction = IndexDirection.DESCENDING)
     private int likes;
     private LocalDateTime createdAt;
+    @Version
+    private Long version;
+    // Lower-case title tokens, used for prefix matching in search
+    @Indexed
+    @JsonIgnore
+    private List<String> titleTerms;
 
     public Article() {
-        createdAt = LocalDateTime.now();
+        // Stored and compared as UTC wall-clock time, like the Mongo converters
+        createdAt = LocalDateTime.now(ZoneOffset.UTC);
     }
 }
@@ -0,0 +1,14 @@
+package com.anupam.auth.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ArticlePage {
+    private List<ArticleSummary> articles;
+    // Opaque continuation token for the next page, null on the last page
+    private String next;
+}
@@ -0,0 +1,30 @@
+package com.anupam.auth.entities;
+
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+
+/**
+ * List view of an {@link Article}, read through a field projection so the content is never loaded.
+ */
+@Data
+public class ArticleSummary {
+    private ObjectId id;
+    private String title;
+    private String excerpt;
+    private String author;
+    private int likes;
+    private LocalDateTime createdAt;
+
+    public static ArticleSummary of(Article article) {
+        ArticleSummary summary = new ArticleSummary();
+        summary.setId(article.getId());
+        summary.setTitle(article.getTitle());
+        summary.setExcerpt(article.getExcerpt());
+        summary.setAuthor(article.getAuthor());
+        summary.setLikes(article.getLikes());
+        summary.setCreatedAt(article.getCreatedAt());
+        return summary;
+    }
+}
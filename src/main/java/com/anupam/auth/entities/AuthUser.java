@@ -0,0 +1,16 @@
+package com.anupam.auth.entities;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+@Getter
+public class AuthUser extends org.springframework.security.core.userdetails.User {
+    private final long securityVersion;
+
+    public AuthUser(String username, String password, Collection<? extends GrantedAuthority> authorities, long securityVersion) {
+        super(username, password, authorities);
+        this.securityVersion = securityVersion;
+    }
+}
@@ -0,0 +1,24 @@
+package com.anupam.auth.entities;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkIngestResult {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long received;
+    private long inserted;
+    private long failed;
+    // Only the first errors are reported, failed always holds the full count
+    private List<BulkItemError> errors = new ArrayList<>();
+
+    public void addError(long index, String message) {
+        failed++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new BulkItemError(index, message));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.anupam.auth.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BulkItemError {
+    // Zero-based position of the item in the request body
+    private long index;
+    private String message;
+}
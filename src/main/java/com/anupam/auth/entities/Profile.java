@@ -8,5 +8,5 @@ import java.util.List;
 @Data
 public class Profile {
     private String username;
-    private List<Article> articles = new ArrayList<>();
+    private List<ArticleSummary> articles = new ArrayList<>();
 }
@@ -0,0 +1,32 @@
+package com.anupam.auth.entities;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Data
+public class ProvisioningJob {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final int total;
+    private final LocalDateTime createdAt = LocalDateTime.now(ZoneOffset.UTC);
+    private volatile Status status = Status.QUEUED;
+    private final AtomicInteger hashed = new AtomicInteger();
+    private final AtomicInteger inserted = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<BulkItemError> errors = new CopyOnWriteArrayList<>();
+
+    public void addError(long index, String message) {
+        failed.incrementAndGet();
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new BulkItemError(index, message));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.anupam.auth.entities;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A token id (jti) revoked before its expiry. Mongo removes the entry once the token would
+ * have expired anyway. Instants are used so the TTL index sees the real expiry time.
+ */
+@Document("revoked_tokens")
+@Data
+public class RevokedToken {
+    @Id
+    private String jti;
+    private String username;
+    @Indexed(name = "expires_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+    // Other nodes poll on this to pick up revocations
+    @Indexed
+    private Instant revokedAt;
+}
@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -25,12 +26,15 @@ public class User {
     private String password;
 
     private List<String> roles;
+    private long securityVersion;
+    // Bumped whenever one of the user's articles changes, backs the ETag of their article lists
+    private long contentVersion;
     @CreatedDate
     private LocalDateTime createdAt;
 
     private List<ObjectId> articles = new ArrayList<>();
 
     public User() {
-        this.createdAt = LocalDateTime.now();
+        this.createdAt = LocalDateTime.now(ZoneOffset.UTC);
     }
 }
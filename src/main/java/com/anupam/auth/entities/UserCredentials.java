@@ -0,0 +1,19 @@
+package com.anupam.auth.entities;
+
+import lombok.Data;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+/**
+ * Read model of a {@link User} holding only what authentication needs, so the
+ * unbounded articles array is never read on the login and request paths.
+ */
+@Data
+public class UserCredentials {
+    private ObjectId id;
+    private String username;
+    private String password;
+    private List<String> roles;
+    private long securityVersion;
+}
@@ -0,0 +1,11 @@
+package com.anupam.auth.entities;
+
+import lombok.Data;
+
+@Data
+public class UserProvisioningItem {
+    private String username;
+    private String password;
+    private String email;
+    private boolean admin;
+}
@@ -0,0 +1,18 @@
+package com.anupam.auth.entities;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Export view of a {@link User} without the password hash and the articles array.
+ */
+@Data
+public class UserSummary {
+    private String id;
+    private String username;
+    private String email;
+    private List<String> roles;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.anupam.auth.reactive;
+
+import com.anupam.auth.utils.JwtUtil;
+import com.anupam.auth.utils.RevocationList;
+import com.anupam.auth.utils.SecurityVersionRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-blocking read-only article API on WebFlux and the reactive Mongo driver, run as a
+ * separate process next to the servlet application. Everything in this package is tied to
+ * the "reactive" profile so the servlet application ignores it when scanning.
+ */
+@SpringBootApplication
+@Profile(ReactiveArticleApplication.PROFILE)
+@Import({JwtUtil.class, SecurityVersionRegistry.class, RevocationList.class})
+public class ReactiveArticleApplication {
+	public static final String PROFILE = "reactive";
+
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(ReactiveArticleApplication.class);
+		application.setAdditionalProfiles(PROFILE);
+		application.run(args);
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.anupam.auth.reactive;
+
+import com.anupam.auth.entities.Article;
+import com.anupam.auth.entities.ArticlePage;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.utils.FeedCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/article")
+@Profile(ReactiveArticleApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveArticleController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveArticleRepository articleRepository;
+
+    @GetMapping("/feed")
+    public Mono<ResponseEntity<ArticlePage>> getArticleFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return page(null, cursor, size);
+    }
+
+    @GetMapping("/author/{username}")
+    public Mono<ResponseEntity<ArticlePage>> getArticlesByAuthor(
+            @PathVariable String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return page(username, cursor, size);
+    }
+
+    @GetMapping(value = "/feed/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ArticleSummary> streamArticleFeed() {
+        return articleRepository.streamFeedSummaries();
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<ArticlePage>> searchArticles(
+            @RequestParam("q") String text,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = pageSize(size);
+        int page;
+        try {
+            page = cursor == null || cursor.isBlank() ? 0 : Integer.parseInt(cursor);
+        } catch (NumberFormatException e) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return articleRepository.search(text, (long) page * pageSize, pageSize + 1)
+                .collectList()
+                .map(articles -> {
+                    String next = articles.size() > pageSize ? String.valueOf(page + 1) : null;
+                    return new ResponseEntity<>(new ArticlePage(trim(articles, pageSize), next), HttpStatus.OK);
+                });
+    }
+
+    @GetMapping("/{articleId}")
+    public Mono<ResponseEntity<Article>> getArticle(@PathVariable ObjectId articleId) {
+        return articleRepository.findById(articleId)
+                .map(article -> new ResponseEntity<>(article, HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    private Mono<ResponseEntity<ArticlePage>> page(String author, String cursor, int size) {
+        int pageSize = pageSize(size);
+        FeedCursor position;
+        try {
+            position = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return articleRepository.findFeed(author, position, pageSize + 1)
+                .collectList()
+                .map(articles -> {
+                    List<ArticleSummary> items = trim(articles, pageSize);
+                    String next = null;
+                    if (articles.size() > pageSize) {
+                        ArticleSummary last = items.get(pageSize - 1);
+                        next = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+                    }
+                    return new ResponseEntity<>(new ArticlePage(items, next), HttpStatus.OK);
+                });
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static List<ArticleSummary> trim(List<ArticleSummary> articles, int pageSize) {
+        return articles.size() > pageSize ? articles.subList(0, pageSize) : articles;
+    }
+}
@@ -0,0 +1,67 @@
+package com.anupam.auth.reactive;
+
+import com.anupam.auth.entities.Article;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.entities.RevokedToken;
+import com.anupam.auth.entities.UserCredentials;
+import com.anupam.auth.utils.ArticleQueries;
+import com.anupam.auth.utils.FeedCursor;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of the article reads in ArticleRepository and ArticleServiceImpl,
+ * using the same indexes and the same keyset cursor format.
+ */
+@Repository
+@Profile(ReactiveArticleApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveArticleRepository {
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public Mono<Article> findById(ObjectId id) {
+        return reactiveMongoTemplate.findById(id, Article.class);
+    }
+
+    public Flux<ArticleSummary> findFeed(String author, FeedCursor cursor, int limit) {
+        Criteria filter = author == null ? null : Criteria.where("author").is(author);
+        Query query = ArticleQueries.feedQuery(filter, cursor).limit(limit);
+        query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+        return reactiveMongoTemplate.find(query, ArticleSummary.class, "articles");
+    }
+
+    // Unbounded summaries in feed order, pulled from the cursor only as fast as the client reads
+    public Flux<ArticleSummary> streamFeedSummaries() {
+        Query query = new Query().with(ArticleQueries.FEED_ORDER);
+        query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+        return reactiveMongoTemplate.find(query, ArticleSummary.class, "articles");
+    }
+
+    public Flux<ArticleSummary> search(String text, long skip, int limit) {
+        Query query = ArticleQueries.searchQuery(text);
+        if (query == null) {
+            return Flux.empty();
+        }
+        query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+        return reactiveMongoTemplate.find(query.skip(skip).limit(limit), ArticleSummary.class, "articles");
+    }
+
+    public Mono<UserCredentials> findCredentialsByUsername(String username) {
+        Query query = new Query(Criteria.where("username").is(username));
+        query.fields().include("username", "password", "roles", "securityVersion");
+        return reactiveMongoTemplate.findOne(query, UserCredentials.class, "users");
+    }
+
+    public Flux<RevokedToken> findRevokedTokens(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("_id", "expiresAt");
+        return reactiveMongoTemplate.find(query, RevokedToken.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.anupam.auth.reactive;
+
+import com.anupam.auth.entities.AuthUser;
+import com.anupam.auth.entities.UserCredentials;
+import com.anupam.auth.utils.JwtUtil;
+import com.anupam.auth.utils.RevocationList;
+import com.anupam.auth.utils.SecurityVersionRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * WebFlux port of JwtFilter. Builds the principal from the token claims and only reads the
+ * user's credentials projection when the token has no roles or an outdated security version.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveJwtFilter implements WebFilter {
+    private final JwtUtil jwtUtil;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final RevocationList revocationList;
+    private final ReactiveArticleRepository articleRepository;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        Claims claims;
+        try {
+            claims = jwtUtil.verifyToken(authHeader.substring(7));
+        } catch (JwtException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            return chain.filter(exchange);
+        }
+        if (claims.getSubject() == null) {
+            return chain.filter(exchange);
+        }
+        if (revocationList.isRevoked(claims.getId())) {
+            log.debug("Rejected revoked token of user: {}", claims.getSubject());
+            return chain.filter(exchange);
+        }
+
+        UserDetails fromClaims = userDetailsFromClaims(claims);
+        Mono<UserDetails> userDetails = fromClaims != null
+                ? Mono.just(fromClaims)
+                : articleRepository.findCredentialsByUsername(claims.getSubject()).map(this::toUserDetails);
+        // Resolve the user first so the chain is subscribed exactly once, with or without a principal
+        return userDetails
+                .map(user -> Optional.of(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities())))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(auth -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private UserDetails userDetailsFromClaims(Claims claims) {
+        Object roles = claims.get(JwtUtil.ROLES_CLAIM);
+        Object version = claims.get(JwtUtil.SECURITY_VERSION_CLAIM);
+        if (!(roles instanceof Collection<?> roleNames) || !(version instanceof Number securityVersion)) {
+            return null;
+        }
+        if (!securityVersionRegistry.isCurrent(claims.getSubject(), securityVersion.longValue())) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roleNames.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new AuthUser(claims.getSubject(), "", authorities, securityVersion.longValue());
+    }
+
+    private UserDetails toUserDetails(UserCredentials credentials) {
+        securityVersionRegistry.record(credentials.getUsername(), credentials.getSecurityVersion());
+        return new AuthUser(
+                credentials.getUsername(),
+                "",
+                AuthorityUtils.createAuthorityList(credentials.getRoles().stream()
+                        .map(role -> "ROLE_" + role)
+                        .toList()),
+                credentials.getSecurityVersion());
+    }
+}
@@ -0,0 +1,24 @@
+package com.anupam.auth.reactive;
+
+import com.anupam.auth.converters.DateToLocalDateTimeConverter;
+import com.anupam.auth.converters.LocalDateTimeToDateConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.util.Arrays;
+
+@Configuration
+@Profile(ReactiveArticleApplication.PROFILE)
+public class ReactiveMongoConfig {
+
+    // Same UTC date handling as MongoConfig so both stacks read createdAt and cursors identically
+    @Bean
+    public MongoCustomConversions customConversions() {
+        return new MongoCustomConversions(Arrays.asList(
+                new LocalDateTimeToDateConverter(),
+                new DateToLocalDateTimeConverter()
+        ));
+    }
+}
@@ -0,0 +1,74 @@
+package com.anupam.auth.reactive;
+
+import com.anupam.auth.utils.RevocationList;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Reactive counterpart of the polling in TokenRevocationServiceImpl. Mirrors revoked_tokens
+ * into the RevocationList so ReactiveJwtFilter rejects tokens logged out on a servlet node.
+ */
+@Component
+@Slf4j
+@Profile(ReactiveArticleApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveRevocationPoller {
+    // Same overlap as the servlet poller, entries from a node with a slightly skewed clock are not missed
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+    private final ReactiveArticleRepository articleRepository;
+    private final RevocationList revocationList;
+
+    @Value("${jwt.revocation.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+    @Value("${jwt.revocation.prune-interval-ms:300000}")
+    private long pruneIntervalMs;
+
+    private volatile Instant lastPoll;
+    private Disposable polling;
+    private Disposable pruning;
+
+    @PostConstruct
+    public void start() {
+        polling = Flux.interval(Duration.ZERO, Duration.ofMillis(pollIntervalMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> poll())
+                .subscribe();
+        pruning = Flux.interval(Duration.ofMillis(pruneIntervalMs))
+                .subscribe(tick -> revocationList.prune(System.currentTimeMillis()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        polling.dispose();
+        pruning.dispose();
+    }
+
+    // The first poll loads every unexpired entry, later ones only what was revoked since
+    private Mono<Void> poll() {
+        Instant now = Instant.now();
+        Criteria criteria = lastPoll == null
+                ? Criteria.where("expiresAt").gt(now)
+                : Criteria.where("revokedAt").gte(lastPoll.minus(POLL_OVERLAP));
+        return articleRepository.findRevokedTokens(criteria)
+                .doOnNext(revokedToken -> revocationList.add(revokedToken.getJti(), revokedToken.getExpiresAt().toEpochMilli()))
+                .then(Mono.fromRunnable(() -> lastPoll = now))
+                .onErrorResume(e -> {
+                    log.warn("Failed to poll revoked tokens, retrying on next poll", e);
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
@@ -0,0 +1,40 @@
+package com.anupam.auth.reactive;
+
+import com.anupam.auth.utils.JwtUtil;
+import com.anupam.auth.utils.RevocationList;
+import com.anupam.auth.utils.SecurityVersionRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@EnableWebFluxSecurity
+@Profile(ReactiveArticleApplication.PROFILE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            JwtUtil jwtUtil,
+            SecurityVersionRegistry securityVersionRegistry,
+            RevocationList revocationList,
+            ReactiveArticleRepository articleRepository
+    ) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchange -> exchange
+                        .pathMatchers("/article/**").authenticated()
+                        .anyExchange().permitAll()
+                )
+                .addFilterAt(new ReactiveJwtFilter(jwtUtil, securityVersionRegistry, revocationList, articleRepository), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -7,6 +7,5 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 
 public interface ArticleRepository extends MongoRepository<Article, ObjectId> {
-    List<Article> findByTitleContaining(String title);
     List<Article> findByIdIn(List<ObjectId> ids);
 }
@@ -2,14 +2,26 @@ package com.anupam.auth.repositories;
 
 import com.anupam.auth.entities.Article;
 import com.anupam.auth.entities.User;
+import com.anupam.auth.entities.UserCredentials;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, ObjectId> {
+    String CREDENTIAL_FIELDS = "{ 'username': 1, 'password': 1, 'roles': 1, 'securityVersion': 1 }";
+
     Optional<User> findByUsername(String username);
     void deleteByUsername(String username);
     List<Article> getAllByUsername(String username);
+
+    @Query(value = "{ 'username': ?0 }", fields = CREDENTIAL_FIELDS)
+    Optional<UserCredentials> findCredentialsByUsername(String username);
+
+    @Query(value = "{ '_id': ?0 }", fields = CREDENTIAL_FIELDS)
+    Optional<UserCredentials> findCredentialsById(ObjectId id);
+
+    boolean existsByUsername(String username);
 }
@@ -0,0 +1,10 @@
+package com.anupam.auth.service;
+
+import org.bson.types.ObjectId;
+
+public interface ArticleLikeService {
+    boolean like(ObjectId articleId);
+    boolean unlike(ObjectId articleId);
+    long getPendingLikes(ObjectId articleId);
+    void flush();
+}
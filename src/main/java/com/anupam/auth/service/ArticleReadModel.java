@@ -0,0 +1,19 @@
+package com.anupam.auth.service;
+
+import com.anupam.auth.entities.Article;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.utils.FeedCursor;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory view of the newest articles. Every method returns empty when the view cannot
+ * answer on its own, the caller then reads Mongo. Returned objects are copies.
+ */
+public interface ArticleReadModel {
+    Optional<Article> findById(ObjectId id);
+    Optional<List<ArticleSummary>> findFeed(FeedCursor cursor, int limit);
+    Optional<List<ArticleSummary>> findAll();
+}
@@ -1,17 +1,28 @@
 package com.anupam.auth.service;
 
 import com.anupam.auth.entities.Article;
+import com.anupam.auth.entities.ArticlePage;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.entities.BulkIngestResult;
 import org.bson.types.ObjectId;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface ArticleService {
     Article createArticle(Article article);
+    BulkIngestResult bulkCreateArticles(InputStream body, String author) throws IOException;
     Article updateArticle(ObjectId articleId, Article article) throws Exception;
     Optional<Article> getArticleById(ObjectId id);
-    List<Article> getAllArticles();
-    List<Article> searchArticlesByTitle(String title);
-    List<Article> searchArticlesByUsername(String username);
+    List<ArticleSummary> getAllArticles();
+    List<ArticleSummary> searchArticlesByTitle(String title);
+    List<ArticleSummary> getArticleSummariesByUsername(String username, int limit);
+    ArticlePage getArticleSummariesByUsername(String username, String cursor, int size);
+    List<ArticleSummary> getTrendingArticles(int limit);
+    ArticlePage getArticleFeed(String cursor, int size);
+    ArticlePage searchArticles(String text, String cursor, int size);
+    ArticlePage searchArticlesByUsername(String username, String cursor, int size);
     void deleteArticle(ObjectId id);
 }
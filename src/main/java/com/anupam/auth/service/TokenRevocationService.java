@@ -0,0 +1,7 @@
+package com.anupam.auth.service;
+
+import java.util.Date;
+
+public interface TokenRevocationService {
+    void revoke(String jti, String username, Date expiresAt);
+}
@@ -0,0 +1,14 @@
+package com.anupam.auth.service;
+
+import com.anupam.auth.entities.ArticleSummary;
+import org.bson.types.ObjectId;
+
+import java.util.List;
+
+public interface TrendingService {
+    List<ArticleSummary> getTrending(int limit);
+    // The summary carries the persisted like count, likeDelta the likes it just received
+    void update(ArticleSummary article, long likeDelta);
+    void remove(ObjectId articleId);
+    void reconcile();
+}
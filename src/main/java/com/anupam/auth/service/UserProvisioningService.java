@@ -0,0 +1,12 @@
+package com.anupam.auth.service;
+
+import com.anupam.auth.entities.ProvisioningJob;
+import com.anupam.auth.entities.UserProvisioningItem;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserProvisioningService {
+    ProvisioningJob startProvisioning(List<UserProvisioningItem> users);
+    Optional<ProvisioningJob> getJob(String jobId);
+}
@@ -1,20 +1,27 @@
 package com.anupam.auth.service;
 
 import com.anupam.auth.entities.User;
+import com.anupam.auth.entities.UserSummary;
 import org.bson.types.ObjectId;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserService {
     void saveUser(User user);
 
     void saveAdmin(User user);
 
-    void updateUser(User user, String username);
+    boolean updateUser(User user, String username);
     List<User> getAll();
+    Stream<UserSummary> streamUsers(String role, LocalDateTime createdAfter, LocalDateTime createdBefore);
     Optional<User> findById(ObjectId id);
     void deleteById(ObjectId id);
     void deleteByUsername(String username);
     Optional<User> findByUsername(String username);
+    Optional<String> getContentETag(String username);
+    void bumpContentVersion(Collection<String> usernames);
 }
@@ -0,0 +1,171 @@
+package com.anupam.auth.service.impl;
+
+import com.anupam.auth.entities.Article;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.service.ArticleLikeService;
+import com.anupam.auth.service.TrendingService;
+import com.anupam.auth.service.UserService;
+import com.anupam.auth.utils.ArticleQueries;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Likes are counted in memory and pushed to Mongo as batched $inc writes.
+ * <p>
+ * Counters live in generations. Clicks go to the current map. Each flush retires it and
+ * writes out the generation retired one interval earlier. By then no thread can still be
+ * incrementing it, so no click is lost and idle counters simply disappear with their generation.
+ * The generation being written is no longer counted as pending, so a read during the flush can
+ * briefly miss those likes but never counts them twice.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ArticleLikeServiceImpl implements ArticleLikeService {
+    private final MongoTemplate mongoTemplate;
+    private final UserService userService;
+    private final TrendingService trendingService;
+
+    private final AtomicReference<Map<ObjectId, LongAdder>> current = new AtomicReference<>(new ConcurrentHashMap<>());
+    private volatile Map<ObjectId, LongAdder> retired = Map.of();
+
+    @Override
+    public boolean like(ObjectId articleId) {
+        return add(articleId, 1);
+    }
+
+    @Override
+    public boolean unlike(ObjectId articleId) {
+        return add(articleId, -1);
+    }
+
+    @Override
+    public long getPendingLikes(ObjectId articleId) {
+        return sum(current.get(), articleId) + sum(retired, articleId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${article.likes.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        Map<ObjectId, LongAdder> flushing = retired;
+        retired = current.getAndSet(new ConcurrentHashMap<>());
+        write(flushing);
+    }
+
+    @PreDestroy
+    public synchronized void flushAll() {
+        flush();
+        flush();
+    }
+
+    private void write(Map<ObjectId, LongAdder> deltas) {
+        List<ObjectId> ids = new ArrayList<>();
+        List<Long> values = new ArrayList<>();
+        BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Article.class);
+        for (Map.Entry<ObjectId, LongAdder> entry : deltas.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta != 0) {
+                bulkOperations.updateOne(new Query(Criteria.where("_id").is(entry.getKey())), likesUpdate(delta));
+                ids.add(entry.getKey());
+                values.add(delta);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<ObjectId, Long> applied = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            applied.put(ids.get(i), values.get(i));
+        }
+        try {
+            bulkOperations.execute();
+        } catch (BulkOperationException e) {
+            log.warn("Failed to flush {} of {} like counters", e.getErrors().size(), ids.size());
+            for (BulkWriteError error : e.getErrors()) {
+                requeue(ids.get(error.getIndex()), values.get(error.getIndex()));
+                applied.remove(ids.get(error.getIndex()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} like counters, retrying on next flush", ids.size(), e);
+            for (int i = 0; i < ids.size(); i++) {
+                requeue(ids.get(i), values.get(i));
+            }
+            return;
+        }
+        afterFlush(applied);
+    }
+
+    /**
+     * Reads back the summaries of the flushed articles. Their authors' ETags have to change,
+     * and the new counts feed the trending leaderboard.
+     */
+    private void afterFlush(Map<ObjectId, Long> applied) {
+        if (applied.isEmpty()) {
+            return;
+        }
+        try {
+            Query query = new Query(Criteria.where("_id").in(applied.keySet()));
+            query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+            List<ArticleSummary> articles = mongoTemplate.find(query, ArticleSummary.class, "articles");
+            userService.bumpContentVersion(articles.stream().map(ArticleSummary::getAuthor).distinct().toList());
+            for (ArticleSummary article : articles) {
+                trendingService.update(article, applied.get(article.getId()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to update authors and trending after flushing likes", e);
+        }
+    }
+
+    // A counter in the current generation was only created after its article was checked.
+    // The generation is read again after the lookup, which may outlast a flush.
+    private boolean add(ObjectId articleId, long delta) {
+        if (!current.get().containsKey(articleId)
+                && !mongoTemplate.exists(new Query(Criteria.where("_id").is(articleId)), Article.class)) {
+            return false;
+        }
+        current.get().computeIfAbsent(articleId, id -> new LongAdder()).add(delta);
+        return true;
+    }
+
+    // Unlikes can outnumber the stored likes, so a negative delta stops at zero
+    private static UpdateDefinition likesUpdate(long delta) {
+        if (delta > 0) {
+            return new Update().inc("likes", (int) delta);
+        }
+        AggregationExpression clamped = context -> new Document("$max",
+                List.of(0, new Document("$add", List.of("$likes", (int) delta))));
+        return AggregationUpdate.update().set("likes").toValue(clamped);
+    }
+
+    private void requeue(ObjectId articleId, long delta) {
+        current.get().computeIfAbsent(articleId, id -> new LongAdder()).add(delta);
+    }
+
+    private static long sum(Map<ObjectId, LongAdder> deltas, ObjectId articleId) {
+        LongAdder adder = deltas.get(articleId);
+        return adder == null ? 0 : adder.sum();
+    }
+}
@@ -1,67 +1,354 @@
 package com.anupam.auth.service.impl;
 
+import com.anupam.auth.config.MongoConfig;
 import com.anupam.auth.entities.Article;
-import com.anupam.auth.entities.User;
+import com.anupam.auth.entities.ArticlePage;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.entities.BulkIngestResult;
 import com.anupam.auth.repositories.ArticleRepository;
-import com.anupam.auth.repositories.UserRepository;
+import com.anupam.auth.service.ArticleLikeService;
+import com.anupam.auth.service.ArticleReadModel;
 import com.anupam.auth.service.ArticleService;
+import com.anupam.auth.service.TrendingService;
+import com.anupam.auth.service.UserService;
+import com.anupam.auth.utils.ArticleQueries;
+import com.anupam.auth.utils.Excerpts;
+import com.anupam.auth.utils.FeedCursor;
+import com.anupam.auth.utils.SearchTerms;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.bson.types.ObjectId;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Timed("article.service")
 @RequiredArgsConstructor
 public class ArticleServiceImpl implements ArticleService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ArticleRepository articleRepository;
-    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    // Feed and search pages may lag the primary, see MongoClientProperties.SecondaryReads
+    @Qualifier(MongoConfig.SECONDARY_READS)
+    private final MongoTemplate secondaryMongoTemplate;
+    private final ArticleLikeService articleLikeService;
+    private final UserService userService;
+    private final TrendingService trendingService;
+    private final ObjectMapper objectMapper;
+    // Present with article.read-model.enabled=true
+    private final Optional<ArticleReadModel> articleReadModel;
+
+    @Value("${article.bulk.batch-size:1000}")
+    private int bulkBatchSize;
 
     @Override
     public Article createArticle(Article article) {
-        return articleRepository.save(article);
+        article.setTitleTerms(SearchTerms.tokenize(article.getTitle()));
+        article.setExcerpt(Excerpts.of(article.getContent()));
+        Article saved = articleRepository.save(article);
+        userService.bumpContentVersion(List.of(saved.getAuthor()));
+        trendingService.update(ArticleSummary.of(saved), 0);
+        return saved;
+    }
+
+    /**
+     * Reads a JSON array or newline-delimited JSON objects one item at a time and inserts them
+     * in unordered bulk batches, so memory is bounded by the batch size and not the body size.
+     * Items that fail to map or insert are reported by their position and do not stop the import.
+     */
+    @Override
+    public BulkIngestResult bulkCreateArticles(InputStream body, String author) throws IOException {
+        BulkIngestResult result = new BulkIngestResult();
+        List<Article> batch = new ArrayList<>(bulkBatchSize);
+        List<Long> batchIndexes = new ArrayList<>(bulkBatchSize);
+        long index = 0;
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            while (true) {
+                JsonNode item;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    item = items.nextValue();
+                } catch (JsonProcessingException e) {
+                    result.addError(index, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+                result.setReceived(result.getReceived() + 1);
+                try {
+                    Article article = objectMapper.treeToValue(item, Article.class);
+                    article.setAuthor(author);
+                    article.setVersion(0L);
+                    article.setTitleTerms(SearchTerms.tokenize(article.getTitle()));
+                    article.setExcerpt(Excerpts.of(article.getContent()));
+                    // Assigned here so the inserted articles can be handed to the trending leaderboard
+                    article.setId(new ObjectId());
+                    batch.add(article);
+                    batchIndexes.add(index);
+                } catch (JsonProcessingException e) {
+                    result.addError(index, e.getOriginalMessage());
+                }
+                index++;
+                if (batch.size() >= bulkBatchSize) {
+                    insertBatch(batch, batchIndexes, result);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, batchIndexes, result);
+        }
+        if (result.getInserted() > 0) {
+            userService.bumpContentVersion(List.of(author));
+        }
+        return result;
+    }
+
+    private void insertBatch(List<Article> batch, List<Long> batchIndexes, BulkIngestResult result) {
+        Set<Integer> failed = new HashSet<>();
+        try {
+            BulkWriteResult writeResult = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Article.class)
+                    .insert(batch)
+                    .execute();
+            result.setInserted(result.getInserted() + writeResult.getInsertedCount());
+        } catch (BulkOperationException e) {
+            result.setInserted(result.getInserted() + e.getResult().getInsertedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                result.addError(batchIndexes.get(error.getIndex()), error.getMessage());
+                failed.add(error.getIndex());
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (!failed.contains(i)) {
+                trendingService.update(ArticleSummary.of(batch.get(i)), 0);
+            }
+        }
+        batch.clear();
+        batchIndexes.clear();
     }
 
     @Override
     public Article updateArticle(ObjectId articleId, Article article) throws Exception {
-        Optional<Article> existingArticle = articleRepository.findById(articleId);
-        if (existingArticle.isPresent()) {
-            Article articleFromDb = existingArticle.get();
-            articleFromDb.setTitle(article.getTitle());
-            articleFromDb.setContent(article.getContent());
-            return articleRepository.save(articleFromDb);
+        // Without the version a concurrent edit would silently win instead of getting a conflict
+        if (article.getVersion() == null) {
+            throw new IllegalArgumentException("Article version is required");
+        }
+        // Articles stored before versioning have no version field and are read as version 0
+        Criteria version = article.getVersion() == 0
+                ? Criteria.where("version").in(0L, null)
+                : Criteria.where("version").is(article.getVersion());
+        // Single findAndModify that only sets the edited fields, likes and other fields are left alone
+        Query query = new Query(Criteria.where("_id").is(articleId)).addCriteria(version);
+        Update update = new Update().inc("version", 1);
+        if (article.getTitle() != null) {
+            update.set("title", article.getTitle());
+            update.set("titleTerms", SearchTerms.tokenize(article.getTitle()));
+        }
+        if (article.getContent() != null) {
+            update.set("content", article.getContent());
+            update.set("excerpt", Excerpts.of(article.getContent()));
+        }
+        Article updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Article.class);
+        if (updated != null) {
+            userService.bumpContentVersion(List.of(updated.getAuthor()));
+            trendingService.update(ArticleSummary.of(updated), 0);
+            return withPendingLikes(updated);
+        }
+        if (mongoTemplate.exists(new Query(Criteria.where("_id").is(articleId)), Article.class)) {
+            throw new OptimisticLockingFailureException("Article was modified by another request");
         }
         throw new Exception("Article Not Found");
     }
 
     @Override
     public Optional<Article> getArticleById(ObjectId id) {
-        return articleRepository.findById(id);
+        Optional<Article> article = articleReadModel.flatMap(model -> model.findById(id));
+        if (article.isEmpty()) {
+            article = articleRepository.findById(id);
+        }
+        return article.map(this::withPendingLikes).map(ArticleServiceImpl::withVersion);
+    }
+
+    // Articles stored before versioning are shown as version 0, which updateArticle accepts for them
+    private static Article withVersion(Article article) {
+        if (article.getVersion() == null) {
+            article.setVersion(0L);
+        }
+        return article;
+    }
+
+    @Override
+    public List<ArticleSummary> getAllArticles() {
+        return articleReadModel.flatMap(ArticleReadModel::findAll)
+                .map(this::withPendingLikes)
+                .orElseGet(() -> findSummaries(new Query().with(ArticleQueries.FEED_ORDER)));
+    }
+
+    @Override
+    public List<ArticleSummary> searchArticlesByTitle(String title) {
+        return searchArticles(title, null, MAX_PAGE_SIZE).getArticles();
+    }
+
+    /**
+     * Newest articles of an author in a single round trip on the (author, createdAt, _id)
+     * index, projected to summaries so article bodies are never read.
+     * <p>
+     * These back responses tagged with the author's content version, so they are read from the
+     * primary with the stored like counts only. Pending likes would change the body without
+     * changing the tag.
+     */
+    @Override
+    public List<ArticleSummary> getArticleSummariesByUsername(String username, int limit) {
+        Query query = new Query(Criteria.where("author").is(username))
+                .with(ArticleQueries.FEED_ORDER)
+                .limit(pageSize(limit));
+        query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+        return mongoTemplate.find(query, ArticleSummary.class, "articles");
+    }
+
+    @Override
+    public ArticlePage getArticleSummariesByUsername(String username, String cursor, int size) {
+        int pageSize = pageSize(size);
+        Query query = ArticleQueries.feedQuery(Criteria.where("author").is(username), decodeCursor(cursor))
+                .limit(pageSize + 1);
+        query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+        return toPage(mongoTemplate.find(query, ArticleSummary.class, "articles"), pageSize);
     }
 
+    // Served from the in-memory leaderboard, see TrendingServiceImpl
     @Override
-    public List<Article> getAllArticles() {
-        return articleRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
+    public List<ArticleSummary> getTrendingArticles(int limit) {
+        return withPendingLikes(trendingService.getTrending(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE)));
     }
 
     @Override
-    public List<Article> searchArticlesByTitle(String title) {
-        return articleRepository.findByTitleContaining(title);
+    public ArticlePage getArticleFeed(String cursor, int size) {
+        return findPage(null, cursor, size);
     }
 
+    // Ranked full-text search, see ArticleQueries.searchQuery. The cursor is the next page number.
     @Override
-    public List<Article> searchArticlesByUsername(String username) {
-        Optional<User> user = userRepository.findByUsername(username);
-        if (user.isPresent()) {
-            return articleRepository.findByIdIn(user.get().getArticles());
+    public ArticlePage searchArticles(String text, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int page = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                page = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+        Query query = ArticleQueries.searchQuery(text);
+        if (query == null) {
+            return new ArticlePage(List.of(), null);
+        }
+        query.skip((long) page * pageSize).limit(pageSize + 1);
+
+        List<ArticleSummary> articles = findSummaries(secondaryMongoTemplate, query);
+        String next = null;
+        if (articles.size() > pageSize) {
+            articles = articles.subList(0, pageSize);
+            next = String.valueOf(page + 1);
+        }
+        return new ArticlePage(articles, next);
+    }
+
+    @Override
+    public ArticlePage searchArticlesByUsername(String username, String cursor, int size) {
+        return findPage(Criteria.where("author").is(username), cursor, size);
+    }
+
+    private ArticlePage findPage(Criteria filter, String cursor, int size) {
+        int pageSize = pageSize(size);
+        FeedCursor position = decodeCursor(cursor);
+
+        // The read model only answers the unfiltered feed
+        List<ArticleSummary> articles = filter != null ? null : articleReadModel
+                .flatMap(model -> model.findFeed(position, pageSize + 1))
+                .map(this::withPendingLikes)
+                .orElse(null);
+        if (articles == null) {
+            Query query = ArticleQueries.feedQuery(filter, position).limit(pageSize + 1);
+            articles = findSummaries(secondaryMongoTemplate, query);
+        }
+        return toPage(articles, pageSize);
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private static FeedCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+    }
+
+    // Pages are fetched with one extra row, its presence means there is a next page
+    private static ArticlePage toPage(List<ArticleSummary> articles, int pageSize) {
+        String next = null;
+        if (articles.size() > pageSize) {
+            articles = articles.subList(0, pageSize);
+            ArticleSummary last = articles.get(pageSize - 1);
+            next = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
         }
-        return List.of();
+        return new ArticlePage(articles, next);
     }
 
     @Override
     public void deleteArticle(ObjectId id) {
-        articleRepository.deleteById(id);
+        Query query = new Query(Criteria.where("_id").is(id));
+        query.fields().include("author");
+        Article deleted = mongoTemplate.findAndRemove(query, Article.class);
+        trendingService.remove(id);
+        if (deleted != null && deleted.getAuthor() != null) {
+            userService.bumpContentVersion(List.of(deleted.getAuthor()));
+        }
+    }
+
+    // List views only read the summary fields, article bodies stay in Mongo
+    private List<ArticleSummary> findSummaries(Query query) {
+        return findSummaries(mongoTemplate, query);
+    }
+
+    private List<ArticleSummary> findSummaries(MongoTemplate template, Query query) {
+        query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+        return withPendingLikes(template.find(query, ArticleSummary.class, "articles"));
+    }
+
+    private List<ArticleSummary> withPendingLikes(List<ArticleSummary> summaries) {
+        summaries.forEach(summary -> summary.setLikes(Math.max(0, summary.getLikes() + pendingLikes(summary.getId()))));
+        return summaries;
+    }
+
+    // Likes still waiting for the next flush are added on top of the persisted count
+    private Article withPendingLikes(Article article) {
+        article.setLikes(Math.max(0, article.getLikes() + pendingLikes(article.getId())));
+        return article;
+    }
+
+    private int pendingLikes(ObjectId articleId) {
+        return (int) articleLikeService.getPendingLikes(articleId);
     }
 }
@@ -0,0 +1,250 @@
+package com.anupam.auth.service.impl;
+
+import com.anupam.auth.entities.Article;
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.service.ArticleReadModel;
+import com.anupam.auth.utils.ArticleQueries;
+import com.anupam.auth.utils.FeedCursor;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Newest articles in feed order, bootstrapped from Mongo and kept current by a change stream
+ * on the articles collection, so every node follows every write in the cluster.
+ * <p>
+ * The view always holds a contiguous newest range: once it is full the oldest entries are
+ * evicted and older articles are no longer added, and a feed page is only served when it lies
+ * entirely inside that range. While the stream is down the view is bypassed, it resumes from
+ * the last resume token and falls back to a fresh bootstrap when that token is no longer in the oplog.
+ * Change streams need a replica set, see notes.md.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "article.read-model.enabled", havingValue = "true")
+public class ChangeStreamArticleReadModel implements ArticleReadModel {
+    private static final Comparator<FeedCursor> FEED_ORDER =
+            Comparator.comparing(FeedCursor::createdAt).thenComparing(FeedCursor::id).reversed();
+    private static final long RETRY_DELAY_MILLIS = 5000;
+    // Server error for a resume token that has already left the oplog
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxSize;
+
+    private final ConcurrentSkipListMap<FeedCursor, Article> feed = new ConcurrentSkipListMap<>(FEED_ORDER);
+    private final Map<ObjectId, FeedCursor> positions = new ConcurrentHashMap<>();
+    // True while the view holds the whole collection, not only its newest part
+    private volatile boolean complete;
+    private volatile boolean ready;
+    private volatile boolean running = true;
+    private BsonDocument resumeToken;
+    private Thread streamThread;
+
+    @Autowired
+    public ChangeStreamArticleReadModel(
+            MongoTemplate mongoTemplate,
+            @Value("${article.read-model.max-size:10000}") int maxSize
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxSize = maxSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        streamThread = Thread.ofPlatform().name("article-read-model").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        streamThread.interrupt();
+        streamThread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public Optional<Article> findById(ObjectId id) {
+        FeedCursor position = ready ? positions.get(id) : null;
+        Article article = position == null ? null : feed.get(position);
+        return Optional.ofNullable(article).map(ChangeStreamArticleReadModel::copy);
+    }
+
+    @Override
+    public Optional<List<ArticleSummary>> findFeed(FeedCursor cursor, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        Map<FeedCursor, Article> page = cursor == null ? feed : feed.tailMap(cursor, false);
+        List<ArticleSummary> summaries = new ArrayList<>(limit);
+        for (Article article : page.values()) {
+            if (summaries.size() == limit) {
+                break;
+            }
+            summaries.add(ArticleSummary.of(article));
+        }
+        // A short page is only the real end of the feed when nothing older was evicted
+        if (summaries.size() < limit && !complete) {
+            return Optional.empty();
+        }
+        return Optional.of(summaries);
+    }
+
+    @Override
+    public Optional<List<ArticleSummary>> findAll() {
+        if (!ready || !complete) {
+            return Optional.empty();
+        }
+        return Optional.of(feed.values().stream().map(ArticleSummary::of).toList());
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                ChangeStreamIterable<Document> changeStream = mongoTemplate.getCollection("articles").watch()
+                        .fullDocument(FullDocument.UPDATE_LOOKUP);
+                if (resumeToken != null) {
+                    changeStream = changeStream.resumeAfter(resumeToken);
+                }
+                // The cursor is opened before the bootstrap read, so no write in between is missed
+                try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+                    if (resumeToken == null) {
+                        bootstrap();
+                    }
+                    ready = true;
+                    log.info("Article read model following the change stream, {} articles", feed.size());
+                    while (running) {
+                        ChangeStreamDocument<Document> event = cursor.tryNext();
+                        if (event != null) {
+                            apply(event);
+                        }
+                        if (cursor.getResumeToken() != null) {
+                            resumeToken = cursor.getResumeToken();
+                        }
+                    }
+                }
+            } catch (MongoException e) {
+                ready = false;
+                if (e instanceof MongoCommandException commandException
+                        && commandException.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    resumeToken = null;
+                }
+                if (running) {
+                    log.warn("Article change stream failed, reads go to Mongo until it resumes", e);
+                    sleepBeforeRetry();
+                }
+            }
+        }
+    }
+
+    private void bootstrap() {
+        feed.clear();
+        positions.clear();
+        Query query = new Query().with(ArticleQueries.FEED_ORDER).limit(maxSize + 1);
+        List<Article> articles = mongoTemplate.find(query, Article.class);
+        complete = articles.size() <= maxSize;
+        articles.stream().limit(maxSize).forEach(this::put);
+    }
+
+    private void apply(ChangeStreamDocument<Document> event) {
+        switch (event.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                if (event.getFullDocument() != null) {
+                    put(mongoTemplate.getConverter().read(Article.class, event.getFullDocument()));
+                } else {
+                    // Deleted again before the update lookup ran
+                    remove(documentId(event));
+                }
+            }
+            case DELETE -> remove(documentId(event));
+            case DROP, RENAME, INVALIDATE -> {
+                resumeToken = null;
+                throw new MongoException("Article change stream invalidated by " + event.getOperationType());
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void put(Article article) {
+        if (article.getId() == null || article.getCreatedAt() == null) {
+            return;
+        }
+        FeedCursor position = new FeedCursor(article.getCreatedAt(), article.getId());
+        FeedCursor previous = positions.get(article.getId());
+        if (previous == null && !complete && !feed.isEmpty() && FEED_ORDER.compare(position, feed.lastKey()) > 0) {
+            // Older than everything held, outside the range the view answers for
+            return;
+        }
+        feed.put(position, article);
+        positions.put(article.getId(), position);
+        if (previous != null && !previous.equals(position)) {
+            feed.remove(previous);
+        }
+        while (feed.size() > maxSize) {
+            Map.Entry<FeedCursor, Article> oldest = feed.pollLastEntry();
+            positions.remove(oldest.getKey().id());
+            complete = false;
+        }
+    }
+
+    private void remove(ObjectId id) {
+        FeedCursor position = id == null ? null : positions.remove(id);
+        if (position != null) {
+            feed.remove(position);
+        }
+    }
+
+    private static ObjectId documentId(ChangeStreamDocument<Document> event) {
+        BsonValue id = event.getDocumentKey() == null ? null : event.getDocumentKey().get("_id");
+        return id != null && id.isObjectId() ? id.asObjectId().getValue() : null;
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    // Callers add pending likes to what they get, the cached instance must stay untouched
+    private static Article copy(Article article) {
+        Article copy = new Article();
+        copy.setId(article.getId());
+        copy.setTitle(article.getTitle());
+        copy.setContent(article.getContent());
+        copy.setExcerpt(article.getExcerpt());
+        copy.setAuthor(article.getAuthor());
+        copy.setLikes(article.getLikes());
+        copy.setCreatedAt(article.getCreatedAt());
+        copy.setVersion(article.getVersion());
+        copy.setTitleTerms(article.getTitleTerms());
+        return copy;
+    }
+}
@@ -0,0 +1,79 @@
+package com.anupam.auth.service.impl;
+
+import com.anupam.auth.entities.RevokedToken;
+import com.anupam.auth.service.TokenRevocationService;
+import com.anupam.auth.utils.RevocationList;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Revocations are written to the revoked_tokens TTL collection and mirrored into the local
+ * RevocationList. Every node loads the unexpired entries on startup and then polls for new
+ * ones, so a logout on one node reaches the others within one poll interval.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+    // Each poll re-reads a short overlap, so entries written by a node with a slightly skewed clock are not missed
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+    private final MongoTemplate mongoTemplate;
+    private final RevocationList revocationList;
+
+    private volatile Instant lastPoll = Instant.EPOCH;
+
+    @PostConstruct
+    public void load() {
+        Instant now = Instant.now();
+        Query query = new Query(Criteria.where("expiresAt").gt(now));
+        mirror(query);
+        lastPoll = now;
+    }
+
+    @Override
+    public void revoke(String jti, String username, Date expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setUsername(username);
+        revokedToken.setExpiresAt(expiresAt.toInstant());
+        revokedToken.setRevokedAt(Instant.now());
+        mongoTemplate.save(revokedToken);
+        revocationList.add(jti, expiresAt.getTime());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.poll-interval-ms:2000}")
+    public void poll() {
+        Instant now = Instant.now();
+        try {
+            mirror(new Query(Criteria.where("revokedAt").gte(lastPoll.minus(POLL_OVERLAP))));
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll revoked tokens, retrying on next poll", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:300000}")
+    public void prune() {
+        revocationList.prune(System.currentTimeMillis());
+    }
+
+    private void mirror(Query query) {
+        query.fields().include("_id", "expiresAt");
+        List<RevokedToken> revokedTokens = mongoTemplate.find(query, RevokedToken.class);
+        for (RevokedToken revokedToken : revokedTokens) {
+            revocationList.add(revokedToken.getJti(), revokedToken.getExpiresAt().toEpochMilli());
+        }
+    }
+}
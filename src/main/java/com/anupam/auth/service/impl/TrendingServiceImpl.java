@@ -0,0 +1,225 @@
+package com.anupam.auth.service.impl;
+
+import com.anupam.auth.entities.ArticleSummary;
+import com.anupam.auth.service.TrendingService;
+import com.anupam.auth.utils.ArticleQueries;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Leaderboard of the best scoring articles, kept in a skip list ordered by score plus an index
+ * by id. Reads walk the first entries of the skip list and never touch Mongo. Writes come from
+ * article creates, edits and deletes and from every like flush, and are rare next to reads.
+ * <p>
+ * Without a half-life the score is the like count. With one, every like is weighted by
+ * 2^((t - t0) / halfLife) at the time it is counted (forward decay): older likes count less,
+ * yet a score only changes when the article gets likes, so the order never has to be rebuilt
+ * as time passes. Likes persisted before an article was tracked are weighted as if given at
+ * its creation.
+ * <p>
+ * Each node only sees its own like flushes, so the leaderboard is periodically reconciled
+ * against Mongo, which also drops articles deleted through another node.
+ */
+@Service
+@Slf4j
+public class TrendingServiceImpl implements TrendingService {
+    private static final Comparator<Ranked> BY_SCORE =
+            Comparator.comparingDouble(Ranked::score).reversed().thenComparing(Ranked::id, Comparator.reverseOrder());
+    // Weights are rebased before they could overflow a double
+    private static final double MAX_EXPONENT = 512;
+    // With decay, articles older than this many half-lives can no longer climb back in
+    private static final int DECAY_WINDOW_HALF_LIVES = 16;
+
+    private record Ranked(double score, ObjectId id) {
+    }
+
+    private record Entry(ArticleSummary article, double score) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final int capacity;
+    // 0 ranks by all-time likes
+    private final long halfLifeMillis;
+
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(BY_SCORE);
+    private final Map<ObjectId, Entry> entries = new ConcurrentHashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+
+    @Autowired
+    public TrendingServiceImpl(
+            MongoTemplate mongoTemplate,
+            @Value("${trending.capacity:1000}") int capacity,
+            @Value("${trending.half-life:0s}") Duration halfLife
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLife.toMillis();
+    }
+
+    /**
+     * First entries of the skip list, O(limit). Returned summaries are copies.
+     */
+    @Override
+    public List<ArticleSummary> getTrending(int limit) {
+        List<ArticleSummary> trending = new ArrayList<>(limit);
+        for (Ranked ranked : ranking) {
+            if (trending.size() == limit) {
+                break;
+            }
+            Entry entry = entries.get(ranked.id());
+            // Skips an entry that is being moved by a concurrent write
+            if (entry != null && entry.score() == ranked.score()) {
+                trending.add(copy(entry.article()));
+            }
+        }
+        return trending;
+    }
+
+    @Override
+    public synchronized void update(ArticleSummary article, long likeDelta) {
+        if (article.getId() == null) {
+            return;
+        }
+        Entry current = entries.get(article.getId());
+        double score;
+        if (halfLifeMillis == 0) {
+            score = article.getLikes();
+        } else if (current != null) {
+            score = current.score() + likeDelta * weight(System.currentTimeMillis());
+        } else {
+            score = (article.getLikes() - likeDelta) * weight(createdMillis(article))
+                    + likeDelta * weight(System.currentTimeMillis());
+        }
+        if (current == null && ranking.size() >= capacity && score <= ranking.last().score()) {
+            return;
+        }
+        put(article, score, current);
+        while (ranking.size() > capacity) {
+            entries.remove(ranking.pollLast().id());
+        }
+    }
+
+    @Override
+    public synchronized void remove(ObjectId articleId) {
+        Entry entry = entries.remove(articleId);
+        if (entry != null) {
+            ranking.remove(new Ranked(entry.score(), articleId));
+        }
+    }
+
+    /**
+     * Rebuilds the leaderboard from Mongo. Without decay the persisted like counts are exact and
+     * replace everything; with decay the scores of tracked articles are kept, since Mongo does
+     * not know when likes were given, and candidates come from the decay window.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${trending.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            List<ArticleSummary> candidates;
+            List<ArticleSummary> tracked = List.of();
+            if (halfLifeMillis == 0) {
+                candidates = findSummaries(new Query().with(Sort.by(Sort.Direction.DESC, "likes")).limit(capacity));
+            } else {
+                LocalDateTime windowStart = LocalDateTime.now(ZoneOffset.UTC)
+                        .minus(Duration.ofMillis(halfLifeMillis * DECAY_WINDOW_HALF_LIVES));
+                candidates = findSummaries(new Query(Criteria.where("createdAt").gte(windowStart))
+                        .with(Sort.by(Sort.Direction.DESC, "likes"))
+                        .limit(capacity));
+                tracked = findSummaries(new Query(Criteria.where("_id").in(new ArrayList<>(entries.keySet()))));
+            }
+            rebuild(candidates, tracked);
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile trending articles, keeping the current leaderboard", e);
+        }
+    }
+
+    private synchronized void rebuild(List<ArticleSummary> candidates, List<ArticleSummary> tracked) {
+        Map<ObjectId, Double> scores = new HashMap<>();
+        if (halfLifeMillis != 0) {
+            long now = System.currentTimeMillis();
+            // Rebasing scales every score by the same factor, the order stays the same
+            double rebase = 1;
+            if ((now - landmarkMillis) / (double) halfLifeMillis > MAX_EXPONENT / 2) {
+                rebase = 1 / weight(now);
+                landmarkMillis = now;
+            }
+            for (ArticleSummary article : tracked) {
+                Entry entry = entries.get(article.getId());
+                if (entry != null) {
+                    scores.put(article.getId(), entry.score() * rebase);
+                }
+            }
+        }
+        ranking.clear();
+        entries.clear();
+        for (ArticleSummary article : tracked) {
+            Double score = scores.get(article.getId());
+            if (score != null) {
+                put(article, score, null);
+            }
+        }
+        for (ArticleSummary article : candidates) {
+            if (!entries.containsKey(article.getId())) {
+                double score = halfLifeMillis == 0 ? article.getLikes() : article.getLikes() * weight(createdMillis(article));
+                put(article, score, null);
+            }
+        }
+        while (ranking.size() > capacity) {
+            entries.remove(ranking.pollLast().id());
+        }
+    }
+
+    private void put(ArticleSummary article, double score, Entry previous) {
+        // Added before the old rank is removed, so a concurrent read never misses the article
+        entries.put(article.getId(), new Entry(copy(article), score));
+        ranking.add(new Ranked(score, article.getId()));
+        if (previous != null && previous.score() != score) {
+            ranking.remove(new Ranked(previous.score(), article.getId()));
+        }
+    }
+
+    private List<ArticleSummary> findSummaries(Query query) {
+        query.fields().include(ArticleQueries.SUMMARY_FIELDS);
+        return mongoTemplate.find(query, ArticleSummary.class, "articles");
+    }
+
+    private double weight(long timeMillis) {
+        return Math.pow(2, (double) (timeMillis - landmarkMillis) / halfLifeMillis);
+    }
+
+    private static long createdMillis(ArticleSummary article) {
+        return article.getCreatedAt() == null ? System.currentTimeMillis()
+                : article.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static ArticleSummary copy(ArticleSummary article) {
+        ArticleSummary copy = new ArticleSummary();
+        copy.setId(article.getId());
+        copy.setTitle(article.getTitle());
+        copy.setExcerpt(article.getExcerpt());
+        copy.setAuthor(article.getAuthor());
+        copy.setLikes(article.getLikes());
+        copy.setCreatedAt(article.getCreatedAt());
+        return copy;
+    }
+}
@@ -1,29 +1,73 @@
 package com.anupam.auth.service.impl;
 
+import com.anupam.auth.entities.AuthUser;
 import com.anupam.auth.repositories.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 public class UserDetailServiceImpl implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache<String, AuthUser> userDetailsCache;
 
     @Autowired
-    public UserDetailServiceImpl(UserRepository userRepository) {
+    public UserDetailServiceImpl(
+            UserRepository userRepository,
+            @Value("${user-details.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${user-details.cache.ttl-seconds:60}") long cacheTtlSeconds
+    ) {
         this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
     }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .map(user -> org.springframework.security.core.userdetails.User.builder()
-                        .username(user.getUsername())
-                        .password(user.getPassword())
-                        .roles(user.getRoles().toArray(new String[0]))
-                        .build())
+        // Concurrent misses for the same username share a single database lookup
+        AuthUser cached = userDetailsCache.get(username, this::findUser);
+        // Hand out a copy, the authentication manager erases credentials on the returned instance
+        return new AuthUser(cached.getUsername(), cached.getPassword(), cached.getAuthorities(), cached.getSecurityVersion());
+    }
+
+    private AuthUser findUser(String username) {
+        return userRepository.findCredentialsByUsername(username)
+                .map(user -> new AuthUser(
+                        user.getUsername(),
+                        user.getPassword(),
+                        AuthorityUtils.createAuthorityList(user.getRoles().stream()
+                                .map(role -> "ROLE_" + role)
+                                .toList()),
+                        user.getSecurityVersion()))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
+
+    public void evict(String username) {
+        userDetailsCache.invalidate(username);
+    }
+
+    public CacheStats getCacheStats() {
+        return userDetailsCache.stats();
+    }
+
+    public long getCacheSize() {
+        return userDetailsCache.estimatedSize();
+    }
+
+    public Cache<String, AuthUser> getUserDetailsCache() {
+        return userDetailsCache;
+    }
 }
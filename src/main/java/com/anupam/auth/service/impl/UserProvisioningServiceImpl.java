@@ -0,0 +1,169 @@
+package com.anupam.auth.service.impl;
+
+import com.anupam.auth.entities.ProvisioningJob;
+import com.anupam.auth.entities.User;
+import com.anupam.auth.entities.UserProvisioningItem;
+import com.anupam.auth.service.UserProvisioningService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provisions users in the background. Passwords are hashed on a bounded pool sized to the
+ * CPU count, inserts go out as unordered bulk writes, and duplicates are detected by the
+ * unique username index instead of a lookup per user.
+ */
+@Service
+@Slf4j
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final int batchSize;
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(named("user-provisioning"));
+    private final ThreadPoolExecutor hashingExecutor;
+    private final Cache<String, ProvisioningJob> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(6))
+            .build();
+
+    @Autowired
+    public UserProvisioningServiceImpl(
+            MongoTemplate mongoTemplate,
+            BCryptPasswordEncoder passwordEncoder,
+            @Value("${user.provisioning.batch-size:1000}") int batchSize
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.batchSize = batchSize;
+        int threads = Runtime.getRuntime().availableProcessors();
+        // Once the queue is full the job thread hashes too, which throttles submission
+        this.hashingExecutor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 16),
+                named("user-provisioning-hash"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public ProvisioningJob startProvisioning(List<UserProvisioningItem> users) {
+        ProvisioningJob job = new ProvisioningJob(UUID.randomUUID().toString(), users.size());
+        jobs.put(job.getId(), job);
+        jobExecutor.execute(() -> run(job, users));
+        return job;
+    }
+
+    @Override
+    public Optional<ProvisioningJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    private void run(ProvisioningJob job, List<UserProvisioningItem> users) {
+        job.setStatus(ProvisioningJob.Status.RUNNING);
+        try {
+            for (int from = 0; from < users.size(); from += batchSize) {
+                provisionBatch(job, users, from, Math.min(from + batchSize, users.size()));
+            }
+            job.setStatus(ProvisioningJob.Status.COMPLETED);
+        } catch (RuntimeException e) {
+            log.error("User provisioning job {} failed", job.getId(), e);
+            job.setStatus(ProvisioningJob.Status.FAILED);
+        }
+    }
+
+    private void provisionBatch(ProvisioningJob job, List<UserProvisioningItem> users, int from, int to) {
+        List<CompletableFuture<User>> hashing = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            UserProvisioningItem item = users.get(i);
+            if (item.getUsername() == null || item.getUsername().isBlank() || item.getPassword() == null || item.getPassword().isBlank()) {
+                job.addError(i, "Username and password are required");
+                hashing.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            // A failed hash is reported for that user only, the rest of the batch is still inserted
+            int index = i;
+            hashing.add(CompletableFuture.supplyAsync(() -> toUser(item, job.getHashed()), hashingExecutor)
+                    .exceptionally(e -> {
+                        log.warn("Failed to hash the password of provisioned user {}", index, e);
+                        job.addError(index, "Password hashing failed");
+                        return null;
+                    }));
+        }
+
+        List<User> batch = new ArrayList<>(to - from);
+        List<Integer> batchIndexes = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            User user = hashing.get(i - from).join();
+            if (user != null) {
+                batch.add(user);
+                batchIndexes.add(i);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkWriteResult result = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class)
+                    .insert(batch)
+                    .execute();
+            job.getInserted().addAndGet(result.getInsertedCount());
+        } catch (BulkOperationException e) {
+            job.getInserted().addAndGet(e.getResult().getInsertedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                String message = error.getCode() == DUPLICATE_KEY ? "Username already exists" : error.getMessage();
+                job.addError(batchIndexes.get(error.getIndex()), message);
+            }
+        }
+    }
+
+    private User toUser(UserProvisioningItem item, AtomicInteger hashed) {
+        User user = new User();
+        user.setUsername(item.getUsername());
+        user.setEmail(item.getEmail());
+        user.setPassword(passwordEncoder.encode(item.getPassword()));
+        user.setRoles(item.isAdmin() ? List.of("USER", "ADMIN") : List.of("USER"));
+        hashed.incrementAndGet();
+        return user;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashingExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory named(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
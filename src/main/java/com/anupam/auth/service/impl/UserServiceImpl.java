@@ -1,32 +1,58 @@
 package com.anupam.auth.service.impl;
 
 import com.anupam.auth.entities.User;
+import com.anupam.auth.entities.UserCredentials;
+import com.anupam.auth.entities.UserSummary;
 import com.anupam.auth.repositories.UserRepository;
 import com.anupam.auth.service.UserService;
+import com.anupam.auth.utils.SecurityVersionRegistry;
+import io.micrometer.core.annotation.Timed;
+import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Timed("user.service")
 public class UserServiceImpl implements UserService {
+    private static final int EXPORT_BATCH_SIZE = 500;
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserDetailServiceImpl userDetailService;
+    private final MongoTemplate mongoTemplate;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            SecurityVersionRegistry securityVersionRegistry,
+            UserDetailServiceImpl userDetailService,
+            MongoTemplate mongoTemplate
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.userDetailService = userDetailService;
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
     public void saveUser(User user) {
-        Optional<User> existingUser = userRepository.findByUsername(user.getUsername());
-        if (existingUser.isEmpty()) {
+        if (!userRepository.existsByUsername(user.getUsername())) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
             user.setRoles(List.of("USER"));
             userRepository.save(user);
@@ -35,23 +61,37 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void saveAdmin(User user) {
-        Optional<User> existingUser = userRepository.findByUsername(user.getUsername());
-        if (existingUser.isEmpty()) {
+        if (!userRepository.existsByUsername(user.getUsername())) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
             user.setRoles(List.of("USER", "ADMIN"));
             userRepository.save(user);
+            userDetailService.evict(user.getUsername());
         }
     }
 
     @Override
-    public void updateUser(User user, String username) {
-        Optional<User> existingUser = userRepository.findByUsername(username);
-        if (existingUser.isPresent()) {
-            existingUser.get().setUsername(user.getUsername());
-            existingUser.get().setPassword(passwordEncoder.encode(user.getPassword()));
-            existingUser.get().setRoles(List.of("USER"));
-            userRepository.save(existingUser.get());
+    public boolean updateUser(User user, String username) {
+        // Only the credential fields are rewritten, the articles array is never read back
+        Query query = new Query(Criteria.where("username").is(username));
+        query.fields().include("username", "securityVersion");
+        Update update = new Update()
+                .set("username", user.getUsername())
+                .set("password", passwordEncoder.encode(user.getPassword()))
+                .set("roles", List.of("USER"))
+                .inc("securityVersion", 1)
+                .inc("contentVersion", 1);
+        UserCredentials updated = mongoTemplate.findAndModify(
+                query, update, FindAndModifyOptions.options().returnNew(true), UserCredentials.class, "users");
+        if (updated == null) {
+            return false;
         }
+        userDetailService.evict(username);
+        userDetailService.evict(updated.getUsername());
+        if (!username.equals(updated.getUsername())) {
+            securityVersionRegistry.invalidate(username);
+        }
+        securityVersionRegistry.record(updated.getUsername(), updated.getSecurityVersion());
+        return true;
     }
 
     @Override
@@ -59,6 +99,28 @@ public class UserServiceImpl implements UserService {
         return userRepository.findAll();
     }
 
+    @Override
+    public Stream<UserSummary> streamUsers(String role, LocalDateTime createdAfter, LocalDateTime createdBefore) {
+        Query query = new Query();
+        if (role != null) {
+            query.addCriteria(Criteria.where("roles").is(role));
+        }
+        if (createdAfter != null || createdBefore != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (createdAfter != null) {
+                createdAt = createdAt.gte(createdAfter);
+            }
+            if (createdBefore != null) {
+                createdAt = createdAt.lt(createdBefore);
+            }
+            query.addCriteria(createdAt);
+        }
+        query.fields().include("username", "email", "roles", "createdAt");
+        query.cursorBatchSize(EXPORT_BATCH_SIZE);
+        // Backed by a server-side cursor, the caller has to close the stream
+        return mongoTemplate.stream(query, UserSummary.class, "users");
+    }
+
     @Override
     public Optional<User> findById(ObjectId id) {
         return userRepository.findById(id);
@@ -66,16 +128,51 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public void deleteById(ObjectId id) {
+        Optional<UserCredentials> user = userRepository.findCredentialsById(id);
         userRepository.deleteById(id);
+        user.ifPresent(u -> {
+            securityVersionRegistry.invalidate(u.getUsername());
+            userDetailService.evict(u.getUsername());
+        });
     }
 
     @Override
     public void deleteByUsername(String username) {
         userRepository.deleteByUsername(username);
+        securityVersionRegistry.invalidate(username);
+        userDetailService.evict(username);
     }
 
     @Override
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
+
+    /**
+     * Strong ETag for the article lists of a user, read from two fields of the user document.
+     * The id keeps tags of different users apart when one client switches accounts.
+     */
+    @Override
+    public Optional<String> getContentETag(String username) {
+        Query query = new Query(Criteria.where("username").is(username));
+        query.fields().include("_id", "contentVersion");
+        Document user = mongoTemplate.findOne(query, Document.class, "users");
+        if (user == null) {
+            return Optional.empty();
+        }
+        Number contentVersion = user.get("contentVersion", Number.class);
+        return Optional.of(user.getObjectId("_id").toHexString() + "-" + (contentVersion == null ? 0 : contentVersion.longValue()));
+    }
+
+    // Callers bump after their write, so a tag is never newer than the content it was served with
+    @Override
+    public void bumpContentVersion(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("username").in(usernames)),
+                new Update().inc("contentVersion", 1),
+                "users");
+    }
 }
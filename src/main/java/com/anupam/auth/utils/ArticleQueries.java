@@ -0,0 +1,65 @@
+package com.anupam.auth.utils;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.List;
+
+/**
+ * Article feed and search queries shared by the blocking and the reactive read paths.
+ */
+public final class ArticleQueries {
+    public static final Sort FEED_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+    // Projection for ArticleSummary, every list view reads only these
+    public static final String[] SUMMARY_FIELDS = {"title", "excerpt", "author", "likes", "createdAt"};
+
+    private ArticleQueries() {
+    }
+
+    /**
+     * Keyset query over (createdAt desc, _id desc). Seeks past the cursor through the index
+     * instead of skipping, so every page costs the same no matter how deep it is.
+     */
+    public static Query feedQuery(Criteria filter, FeedCursor cursor) {
+        Query query = new Query();
+        if (filter != null) {
+            query.addCriteria(filter);
+        }
+        if (cursor != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(cursor.createdAt()),
+                    Criteria.where("createdAt").is(cursor.createdAt()).and("_id").lt(cursor.id())
+            ));
+        }
+        return query.with(FEED_ORDER);
+    }
+
+    /**
+     * Full-text search over title and content through the collection's text index, ranked by
+     * text score. A trailing '*' turns the last word into a title prefix, which is matched
+     * through the titleTerms index. Returns null when the text has no searchable words.
+     */
+    public static Query searchQuery(String text) {
+        List<String> terms = SearchTerms.tokenize(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        String prefix = text.trim().endsWith("*") ? terms.removeLast() : null;
+
+        Query query;
+        if (terms.isEmpty()) {
+            query = new Query().with(FEED_ORDER);
+        } else {
+            query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matchingAny(terms.toArray(String[]::new)))
+                    .sortByScore();
+        }
+        if (prefix != null) {
+            // Tokens are letters and digits only, so the anchored regex stays an index range scan
+            query.addCriteria(Criteria.where("titleTerms").regex("^" + prefix));
+        }
+        return query;
+    }
+}
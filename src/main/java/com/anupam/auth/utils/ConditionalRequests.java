@@ -0,0 +1,28 @@
+package com.anupam.auth.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET handling for authenticated reads. Responses are marked private and
+ * must be revalidated, which also stops Spring Security from sending no-store, so clients
+ * keep the body and come back with If-None-Match.
+ */
+public final class ConditionalRequests {
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Sets the ETag and cache headers and returns true when the client copy is current,
+     * in which case the response is already a 304 and the handler should return null.
+     */
+    public static boolean notModified(ServletWebRequest request, String eTag) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        return request.checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,27 @@
+package com.anupam.auth.utils;
+
+/**
+ * Short plain-text preview of an article body, stored next to it so list views can be served
+ * from a projection without reading the content.
+ */
+public final class Excerpts {
+    public static final int MAX_LENGTH = 200;
+
+    private Excerpts() {
+    }
+
+    public static String of(String content) {
+        if (content == null) {
+            return null;
+        }
+        String text = content.strip().replaceAll("\\s+", " ");
+        if (text.length() <= MAX_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', MAX_LENGTH);
+        if (end < MAX_LENGTH / 2) {
+            end = MAX_LENGTH;
+        }
+        return text.substring(0, end) + "...";
+    }
+}
@@ -0,0 +1,33 @@
+package com.anupam.auth.utils;
+
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position in a feed ordered by (createdAt desc, _id desc), encoded for clients as an opaque token.
+ * createdAt is UTC wall-clock time, the same convention the Mongo converters read and write.
+ */
+public record FeedCursor(LocalDateTime createdAt, ObjectId id) {
+
+    public String encode() {
+        String raw = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli() + ":" + id.toHexString();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long epochMillis = Long.parseLong(raw.substring(0, separator));
+            ObjectId id = new ObjectId(raw.substring(separator + 1));
+            return new FeedCursor(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
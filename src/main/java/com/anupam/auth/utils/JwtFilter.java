@@ -1,51 +1,153 @@
 package com.anupam.auth.utils;
 
+import com.anupam.auth.entities.AuthUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@Slf4j
 public class JwtFilter extends OncePerRequestFilter {
+    // Verified claims of the authenticated request, for handlers that need more than the principal
+    public static final String CLAIMS_ATTRIBUTE = JwtFilter.class.getName() + ".claims";
 
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final RevocationList revocationList;
+    private final Timer parseTimer;
+    private final Timer claimsLookupTimer;
+    private final Timer databaseLookupTimer;
+
+    @Value("${jwt.stateless-authorities.enabled:true}")
+    private boolean statelessAuthorities;
 
     @Autowired
-    public JwtFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil) {
+    public JwtFilter(
+            UserDetailsService userDetailsService,
+            JwtUtil jwtUtil,
+            SecurityVersionRegistry securityVersionRegistry,
+            RevocationList revocationList,
+            MeterRegistry meterRegistry
+    ) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.revocationList = revocationList;
+        // jwt.filter{phase=parse} covers signature check and claims, phase=lookup the principal
+        this.parseTimer = Timer.builder("jwt.filter")
+                .description("Time spent authenticating the bearer token")
+                .tag("phase", "parse")
+                .tag("source", "token")
+                .register(meterRegistry);
+        this.claimsLookupTimer = Timer.builder("jwt.filter")
+                .description("Time spent authenticating the bearer token")
+                .tag("phase", "lookup")
+                .tag("source", "token")
+                .register(meterRegistry);
+        this.databaseLookupTimer = Timer.builder("jwt.filter")
+                .description("Time spent authenticating the bearer token")
+                .tag("phase", "lookup")
+                .tag("source", "user-details")
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwtToken = null;
+        Claims claims = null;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwtToken = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwtToken);
+            String jwtToken = authHeader.substring(7);
+            long start = System.nanoTime();
+            try {
+                // Signature and expiry are both checked here, once per request
+                claims = jwtUtil.verifyToken(jwtToken);
+                // Checked on every request, cached claims included, since revocation does not touch the cache
+                if (revocationList.isRevoked(claims.getId())) {
+                    log.debug("Rejected revoked token of user: {}", claims.getSubject());
+                    claims = null;
+                }
+            } catch (JwtException e) {
+                log.debug("Rejected bearer token: {}", e.getMessage());
+            } finally {
+                parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
         }
 
-        if (username != null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwtToken)) {
+        if (claims != null && claims.getSubject() != null) {
+            long start = System.nanoTime();
+            UserDetails userDetails = userDetailsFromClaims(claims);
+            if (userDetails != null) {
+                claimsLookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } else {
+                userDetails = loadUserDetails(claims.getSubject());
+                databaseLookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
             }
-
         }
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal straight from the token when it carries roles and a security
+     * version that is still current. Returns null when the database has to be consulted.
+     */
+    private UserDetails userDetailsFromClaims(Claims claims) {
+        if (!statelessAuthorities) {
+            return null;
+        }
+        Object roles = claims.get(JwtUtil.ROLES_CLAIM);
+        Object version = claims.get(JwtUtil.SECURITY_VERSION_CLAIM);
+        if (!(roles instanceof Collection<?> roleNames) || !(version instanceof Number securityVersion)) {
+            return null;
+        }
+        if (!securityVersionRegistry.isCurrent(claims.getSubject(), securityVersion.longValue())) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roleNames.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new AuthUser(claims.getSubject(), "", authorities, securityVersion.longValue());
+    }
+
+    private UserDetails loadUserDetails(String username) {
+        try {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (userDetails instanceof AuthUser authUser) {
+                securityVersionRegistry.record(username, authUser.getSecurityVersion());
+            }
+            return userDetails;
+        } catch (UsernameNotFoundException e) {
+            log.debug("Token subject no longer exists: {}", username);
+            return null;
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package com.anupam.auth.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -11,28 +18,62 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
 
     @Value("${JWT_SECRET_KEY}")
     private String SECRET;
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private long claimsCacheMaxSize;
+    public static final String ROLES_CLAIM = "roles";
+    public static final String SECURITY_VERSION_CLAIM = "sv";
     private final int EXPIRATION_TIME = 1000 * 60 * 60 * 5; // 5 hr
 
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    // Verified claims keyed by the raw token, each entry expires together with its token
+    private Cache<String, Claims> claimsCache;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        claimsCache = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaxSize)
+                .expireAfter(new ClaimsExpiry())
+                .recordStats()
+                .build();
+    }
+
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return verifyToken(token).getSubject();
+    }
+
+    /**
+     * Verifies the token signature and expiry and returns its claims. Tokens that were
+     * already verified are served from the cache without re-running HMAC or JSON parsing.
+     */
+    public Claims verifyToken(String token) {
+        Claims claims = claimsCache.getIfPresent(token);
+        if (claims != null) {
+            return claims;
+        }
+        claims = extractAllClaims(token);
+        claimsCache.put(token, claims);
+        return claims;
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public Date extractExpiration(String token) {
-        return extractAllClaims(token).getExpiration();
+        return verifyToken(token).getExpiration();
     }
 
     public String generateToken(String username) {
@@ -40,22 +81,29 @@ public class JwtUtil {
         return createToken(claims, username);
     }
 
+    public String generateToken(UserDetails userDetails, long securityVersion) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        claims.put(SECURITY_VERSION_CLAIM, securityVersion);
+        return createToken(claims, userDetails.getUsername());
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
+                // jti, the handle for revoking this token on logout
+                .id(UUID.randomUUID().toString())
                 .header().empty().add("typ", "JWT")
                 .and()
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME)) // 5 hr
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
-    }
-
     public boolean validateToken(String token) {
         return !isTokenExpired(token);
     }
@@ -63,4 +111,42 @@ public class JwtUtil {
     private boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
+
+    public long getClaimsCacheHits() {
+        return claimsCache.stats().hitCount();
+    }
+
+    public long getClaimsCacheMisses() {
+        return claimsCache.stats().missCount();
+    }
+
+    public long getClaimsCacheSize() {
+        return claimsCache.estimatedSize();
+    }
+
+    public Cache<String, Claims> getClaimsCache() {
+        return claimsCache;
+    }
+
+    private static class ClaimsExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
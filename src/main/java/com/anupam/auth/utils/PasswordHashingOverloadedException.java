@@ -0,0 +1,14 @@
+package com.anupam.auth.utils;
+
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+/**
+ * Thrown when the password hashing pool cannot take more work. Extends
+ * {@link InternalAuthenticationServiceException} so the authentication manager rethrows it
+ * as is instead of reporting bad credentials.
+ */
+public class PasswordHashingOverloadedException extends InternalAuthenticationServiceException {
+    public PasswordHashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.anupam.auth.utils;
+
+import com.anupam.auth.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @return 0 when the request may proceed, otherwise the nanoseconds until it could be retried
+     */
+    public long tryAcquireForIp(String route, String ip) {
+        RateLimitProperties.Route limits = routeLimits(route);
+        return limits == null ? 0 : tryAcquire("ip:" + route + ":" + ip, limits.getPerIp());
+    }
+
+    public long tryAcquireForUsername(String route, String username) {
+        RateLimitProperties.Route limits = routeLimits(route);
+        return limits == null || username == null ? 0 : tryAcquire("user:" + route + ":" + username, limits.getPerUsername());
+    }
+
+    private RateLimitProperties.Route routeLimits(String route) {
+        return properties.isEnabled() ? properties.getRoutes().get(route) : null;
+    }
+
+    private long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        if (limit == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,53 @@
+package com.anupam.auth.utils;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the revoked token ids that JwtFilter checks on every request. The Bloom
+ * filter answers the common case, a token that was never revoked, without touching the map;
+ * only its rare positives are confirmed against the exact set.
+ */
+@Component
+public class RevocationList {
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final int expectedEntries;
+    // jti -> token expiry in epoch millis
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    @Autowired
+    public RevocationList(@Value("${jwt.revocation.expected-entries:100000}") int expectedEntries) {
+        this.expectedEntries = expectedEntries;
+        this.bloomFilter = new BloomFilter(expectedEntries, FALSE_POSITIVE_RATE);
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && bloomFilter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    public synchronized void add(String jti, long expiresAtMillis) {
+        if (revoked.putIfAbsent(jti, expiresAtMillis) == null) {
+            bloomFilter.put(jti);
+        }
+    }
+
+    /**
+     * Drops ids whose token has expired and rebuilds the Bloom filter without them,
+     * growing it when more ids are revoked than it was sized for.
+     */
+    public synchronized void prune(long nowMillis) {
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
@@ -0,0 +1,44 @@
+package com.anupam.auth.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Security version per user as last read from the database on this node. A token is only
+ * trusted on its own claims while its version matches an entry here, anything else is
+ * re-checked against the database.
+ * <p>
+ * Invalidations only reach the local node, so entries expire after a short TTL. A role
+ * change or delete on another node, or in the other process, is picked up within that TTL.
+ */
+@Component
+public class SecurityVersionRegistry {
+    private final Cache<String, Long> versions;
+
+    @Autowired
+    public SecurityVersionRegistry(@Value("${jwt.security-version.ttl:60s}") Duration ttl) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public void record(String username, long version) {
+        versions.asMap().merge(username, version, Math::max);
+    }
+
+    // The next request of the user goes to the database and records whatever version it finds
+    public void invalidate(String username) {
+        versions.invalidate(username);
+    }
+
+    public boolean isCurrent(String username, long tokenVersion) {
+        Long known = versions.getIfPresent(username);
+        return known != null && tokenVersion == known;
+    }
+}
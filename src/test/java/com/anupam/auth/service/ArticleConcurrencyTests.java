@@ -0,0 +1,136 @@
+package com.anupam.auth.service;
+
+import com.anupam.auth.entities.Article;
+import com.anupam.auth.repositories.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ArticleConcurrencyTests {
+
+	private static final int LIKE_THREADS = 8;
+	private static final int LIKES_PER_THREAD = 500;
+	private static final int EDIT_THREADS = 4;
+	private static final int EDITS_PER_THREAD = 50;
+
+	@Autowired
+	private ArticleService articleService;
+	@Autowired
+	private ArticleLikeService articleLikeService;
+	@Autowired
+	private ArticleRepository articleRepository;
+
+	private Article article;
+
+	@BeforeEach
+	void createArticle() {
+		Article newArticle = new Article();
+		newArticle.setTitle("Concurrency");
+		newArticle.setContent("Initial content");
+		newArticle.setAuthor("concurrency-test");
+		article = articleService.createArticle(newArticle);
+	}
+
+	@AfterEach
+	void deleteArticle() {
+		articleRepository.deleteById(article.getId());
+	}
+
+	@Test
+	void editsDoNotLoseLikes() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(LIKE_THREADS + EDIT_THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> tasks = new ArrayList<>();
+		for (int i = 0; i < LIKE_THREADS; i++) {
+			tasks.add(executor.submit(() -> {
+				start.await();
+				for (int j = 0; j < LIKES_PER_THREAD; j++) {
+					articleLikeService.like(article.getId());
+					if (j % 100 == 0) {
+						articleLikeService.flush();
+					}
+				}
+				return null;
+			}));
+		}
+		for (int i = 0; i < EDIT_THREADS; i++) {
+			int editor = i;
+			tasks.add(executor.submit(() -> {
+				start.await();
+				for (int j = 0; j < EDITS_PER_THREAD; j++) {
+					Article edit = new Article();
+					edit.setContent("Edit " + editor + "-" + j);
+					// Retry on conflict like a client would, with the version it just read
+					while (true) {
+						edit.setVersion(articleRepository.findById(article.getId()).orElseThrow().getVersion());
+						try {
+							articleService.updateArticle(article.getId(), edit);
+							break;
+						} catch (OptimisticLockingFailureException e) {
+							// another editor got there first
+						}
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> task : tasks) {
+			task.get();
+		}
+		executor.shutdown();
+		articleLikeService.flush();
+		articleLikeService.flush();
+
+		Article stored = articleRepository.findById(article.getId()).orElseThrow();
+		assertEquals(LIKE_THREADS * LIKES_PER_THREAD, stored.getLikes());
+		assertEquals(EDIT_THREADS * EDITS_PER_THREAD, stored.getVersion().longValue());
+	}
+
+	@Test
+	void staleVersionIsRejected() throws Exception {
+		int threads = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger conflicts = new AtomicInteger();
+		List<Future<?>> tasks = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			int editor = i;
+			tasks.add(executor.submit(() -> {
+				Article edit = new Article();
+				edit.setTitle("Edited by " + editor);
+				edit.setVersion(article.getVersion());
+				start.await();
+				try {
+					articleService.updateArticle(article.getId(), edit);
+				} catch (OptimisticLockingFailureException e) {
+					conflicts.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> task : tasks) {
+			task.get();
+		}
+		executor.shutdown();
+
+		assertEquals(threads - 1, conflicts.get());
+		assertTrue(articleRepository.findById(article.getId()).orElseThrow().getTitle().startsWith("Edited by "));
+	}
+}
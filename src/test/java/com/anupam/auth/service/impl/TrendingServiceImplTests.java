@@ -0,0 +1,131 @@
+package com.anupam.auth.service.impl;
+
+import com.anupam.auth.entities.ArticleSummary;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TrendingServiceImplTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	private static ArticleSummary article(int likes, LocalDateTime createdAt) {
+		ArticleSummary article = new ArticleSummary();
+		article.setId(new ObjectId());
+		article.setTitle("Article with " + likes + " likes");
+		article.setLikes(likes);
+		article.setCreatedAt(createdAt);
+		return article;
+	}
+
+	private static List<ObjectId> ids(List<ArticleSummary> articles) {
+		return articles.stream().map(ArticleSummary::getId).toList();
+	}
+
+	@Test
+	void withoutDecayRanksByLikes() {
+		TrendingServiceImpl trending = new TrendingServiceImpl(mongoTemplate, 10, Duration.ZERO);
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+		ArticleSummary few = article(1, now);
+		ArticleSummary some = article(5, now);
+		ArticleSummary many = article(10, now);
+		trending.update(some, 0);
+		trending.update(many, 0);
+		trending.update(few, 0);
+
+		assertEquals(List.of(many.getId(), some.getId()), ids(trending.getTrending(2)));
+	}
+
+	@Test
+	void updateMovesAnArticleInsteadOfAddingIt() {
+		TrendingServiceImpl trending = new TrendingServiceImpl(mongoTemplate, 10, Duration.ZERO);
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+		ArticleSummary first = article(10, now);
+		ArticleSummary second = article(5, now);
+		trending.update(first, 0);
+		trending.update(second, 0);
+		second.setLikes(20);
+		trending.update(second, 15);
+
+		List<ArticleSummary> top = trending.getTrending(10);
+		assertEquals(List.of(second.getId(), first.getId()), ids(top));
+		assertEquals(20, top.get(0).getLikes());
+	}
+
+	@Test
+	void capacityEvictsTheLowestScore() {
+		TrendingServiceImpl trending = new TrendingServiceImpl(mongoTemplate, 2, Duration.ZERO);
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+		ArticleSummary low = article(1, now);
+		ArticleSummary mid = article(5, now);
+		ArticleSummary high = article(10, now);
+		trending.update(mid, 0);
+		trending.update(high, 0);
+		trending.update(low, 0);
+
+		assertEquals(List.of(high.getId(), mid.getId()), ids(trending.getTrending(10)));
+	}
+
+	@Test
+	void removeDropsTheArticle() {
+		TrendingServiceImpl trending = new TrendingServiceImpl(mongoTemplate, 10, Duration.ZERO);
+		ArticleSummary article = article(3, LocalDateTime.now(ZoneOffset.UTC));
+		trending.update(article, 0);
+		trending.remove(article.getId());
+
+		assertTrue(trending.getTrending(10).isEmpty());
+	}
+
+	@Test
+	void decayWeighsRecentLikesHigher() {
+		TrendingServiceImpl trending = new TrendingServiceImpl(mongoTemplate, 10, Duration.ofHours(1));
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+		// 8 likes two half-lives ago are worth about 2 likes now
+		ArticleSummary old = article(8, now.minusHours(2));
+		ArticleSummary recent = article(3, now);
+		trending.update(old, 0);
+		trending.update(recent, 0);
+
+		assertEquals(List.of(recent.getId(), old.getId()), ids(trending.getTrending(10)));
+	}
+
+	@Test
+	void reconcileRebasesLargeWeightsWithoutChangingTheOrder() {
+		long halfLife = Duration.ofHours(1).toMillis();
+		TrendingServiceImpl trending = new TrendingServiceImpl(mongoTemplate, 10, Duration.ofMillis(halfLife));
+		// Weights are now 2^600, past the rebase threshold and close to overflowing once doubled
+		ReflectionTestUtils.setField(trending, "landmarkMillis", System.currentTimeMillis() - 600 * halfLife);
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+		ArticleSummary leader = article(2, now);
+		ArticleSummary follower = article(1, now);
+		trending.update(leader, 0);
+		trending.update(follower, 0);
+		when(mongoTemplate.find(any(Query.class), eq(ArticleSummary.class), eq("articles")))
+				.thenReturn(List.of(), List.of(leader, follower));
+
+		trending.reconcile();
+
+		long landmark = (long) ReflectionTestUtils.getField(trending, "landmarkMillis");
+		assertTrue(System.currentTimeMillis() - landmark < halfLife);
+		assertEquals(List.of(leader.getId(), follower.getId()), ids(trending.getTrending(10)));
+
+		// Likes counted after the rebase are on the same scale as the rebased scores
+		follower.setLikes(5);
+		trending.update(follower, 4);
+		assertEquals(List.of(follower.getId(), leader.getId()), ids(trending.getTrending(10)));
+	}
+}
@@ -0,0 +1,36 @@
+package com.anupam.auth.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcerptsTests {
+
+	@Test
+	void shortContentIsKeptWithCollapsedWhitespace() {
+		assertEquals("first line second line", Excerpts.of("  first line\n\n\tsecond   line  "));
+		assertNull(Excerpts.of(null));
+	}
+
+	@Test
+	void longContentIsCutAtAWordBoundary() {
+		String content = "word ".repeat(100);
+		String excerpt = Excerpts.of(content);
+		assertTrue(excerpt.endsWith("word..."));
+		assertTrue(excerpt.length() <= Excerpts.MAX_LENGTH + 3);
+	}
+
+	@Test
+	void contentWithoutSpacesIsCutAtMaxLength() {
+		String excerpt = Excerpts.of("x".repeat(500));
+		assertEquals("x".repeat(Excerpts.MAX_LENGTH) + "...", excerpt);
+	}
+
+	@Test
+	void contentOfExactlyMaxLengthIsNotCut() {
+		String content = "y".repeat(Excerpts.MAX_LENGTH);
+		assertEquals(content, Excerpts.of(content));
+	}
+}
@@ -0,0 +1,48 @@
+package com.anupam.auth.utils;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedCursorTests {
+
+	private static String token(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void roundTrips() {
+		FeedCursor cursor = new FeedCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000), new ObjectId());
+		assertEquals(cursor, FeedCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void encodesCreatedAtAsUtcEpochMillis() {
+		ObjectId id = new ObjectId();
+		FeedCursor cursor = new FeedCursor(LocalDateTime.of(1970, 1, 1, 0, 0, 1), id);
+		assertEquals(token("1000:" + id.toHexString()), cursor.encode());
+	}
+
+	@Test
+	void keepsOnlyMillisecondPrecision() {
+		ObjectId id = new ObjectId();
+		FeedCursor cursor = new FeedCursor(LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_789), id);
+		assertEquals(LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_000_000), FeedCursor.decode(cursor.encode()).createdAt());
+	}
+
+	@Test
+	void rejectsTamperedTokens() {
+		String id = new ObjectId().toHexString();
+		assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("not base64!"));
+		assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(token("1000")));
+		assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(token("soon:" + id)));
+		assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(token("1000:not-an-id")));
+		assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode(token(":" + id)));
+	}
+}
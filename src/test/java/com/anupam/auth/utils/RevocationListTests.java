@@ -0,0 +1,53 @@
+package com.anupam.auth.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationListTests {
+
+	@Test
+	void reportsOnlyRevokedIds() {
+		RevocationList revocationList = new RevocationList(100);
+		revocationList.add("revoked", 1_000);
+		assertTrue(revocationList.isRevoked("revoked"));
+		assertFalse(revocationList.isRevoked("valid"));
+		assertFalse(revocationList.isRevoked(null));
+	}
+
+	@Test
+	void addingTheSameIdTwiceKeepsOneEntry() {
+		RevocationList revocationList = new RevocationList(100);
+		revocationList.add("revoked", 1_000);
+		revocationList.add("revoked", 2_000);
+		assertEquals(1, revocationList.size());
+	}
+
+	@Test
+	void pruneDropsExpiredIdsAndKeepsTheRest() {
+		RevocationList revocationList = new RevocationList(100);
+		revocationList.add("expired", 1_000);
+		revocationList.add("live", 5_000);
+		revocationList.prune(1_000);
+		assertFalse(revocationList.isRevoked("expired"));
+		assertTrue(revocationList.isRevoked("live"));
+		assertEquals(1, revocationList.size());
+	}
+
+	@Test
+	void pruneRebuildsAFilterLargeEnoughForOverflow() {
+		RevocationList revocationList = new RevocationList(10);
+		for (int i = 0; i < 1_000; i++) {
+			revocationList.add("jti-" + i, 5_000);
+		}
+		revocationList.prune(0);
+		for (int i = 0; i < 1_000; i++) {
+			assertTrue(revocationList.isRevoked("jti-" + i));
+		}
+		for (int i = 0; i < 1_000; i++) {
+			assertFalse(revocationList.isRevoked("other-" + i));
+		}
+	}
+}
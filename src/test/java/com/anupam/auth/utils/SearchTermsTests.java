@@ -0,0 +1,28 @@
+package com.anupam.auth.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTermsTests {
+
+	@Test
+	void splitsIntoDistinctLowerCaseTermsInOrder() {
+		assertEquals(List.of("hello", "world", "42"), SearchTerms.tokenize("Hello, hello World-42!"));
+	}
+
+	@Test
+	void keepsNonAsciiLettersAndDropsRegexCharacters() {
+		assertEquals(List.of("caf\u00e9", "na\u00efve", "a", "b"), SearchTerms.tokenize("Caf\u00e9 na\u00efve (a+b)*"));
+	}
+
+	@Test
+	void emptyInputHasNoTerms() {
+		assertTrue(SearchTerms.tokenize(null).isEmpty());
+		assertTrue(SearchTerms.tokenize("   ").isEmpty());
+		assertTrue(SearchTerms.tokenize("?!.").isEmpty());
+	}
+}
@@ -0,0 +1,61 @@
+package com.anupam.auth.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	@Test
+	void allowsBurstUpToCapacity() {
+		TokenBucket bucket = new TokenBucket(3, 1, 0);
+		assertEquals(0, bucket.tryAcquire(0));
+		assertEquals(0, bucket.tryAcquire(0));
+		assertEquals(0, bucket.tryAcquire(0));
+		assertEquals(SECOND, bucket.tryAcquire(0));
+	}
+
+	@Test
+	void refillsAtConfiguredRate() {
+		TokenBucket bucket = new TokenBucket(2, 2, 0);
+		bucket.tryAcquire(0);
+		bucket.tryAcquire(0);
+		assertEquals(SECOND / 2, bucket.tryAcquire(0));
+		assertEquals(SECOND / 4, bucket.tryAcquire(SECOND / 4));
+		assertEquals(0, bucket.tryAcquire(SECOND / 2));
+		assertTrue(bucket.tryAcquire(SECOND / 2) > 0);
+	}
+
+	@Test
+	void rejectedRequestsDoNotConsumeTokens() {
+		TokenBucket bucket = new TokenBucket(1, 1, 0);
+		bucket.tryAcquire(0);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(bucket.tryAcquire(0) > 0);
+		}
+		assertEquals(0, bucket.tryAcquire(SECOND));
+	}
+
+	@Test
+	void idleTimeDoesNotGrowBurstBeyondCapacity() {
+		TokenBucket bucket = new TokenBucket(2, 1, 0);
+		long later = 100 * SECOND;
+		assertEquals(0, bucket.tryAcquire(later));
+		assertEquals(0, bucket.tryAcquire(later));
+		assertEquals(SECOND, bucket.tryAcquire(later));
+	}
+
+	@Test
+	void isFullOnceAllTokensAreBack() {
+		TokenBucket bucket = new TokenBucket(2, 1, 0);
+		assertTrue(bucket.isFull(0));
+		bucket.tryAcquire(0);
+		assertFalse(bucket.isFull(0));
+		assertFalse(bucket.isFull(SECOND / 2));
+		assertTrue(bucket.isFull(SECOND));
+	}
+}